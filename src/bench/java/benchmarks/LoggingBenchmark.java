@@ -0,0 +1,87 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utilities.Log;
+
+/**
+ * Per-step logging cost on the caller's thread at the default INFO level, with asynchronous (disruptor) and synchronous
+ * loggers. A step is modelled as what DriverUtils and the step definitions log for one action: one INFO line routed to
+ * the scenario's file, three per-action DEBUG calls that are filtered out, and one lazily built DEBUG message.
+ * {@code debugConcatenated} and {@code debugSupplier} compare eager and lazy message building for a disabled level.
+ * Events are written under target/benchmark-logs; when the appender cannot keep up the async ring buffer fills and the
+ * async figure degrades towards the sync one.
+ * Run with: mvn -Pbenchmark test-compile exec:java -Dexec.args="LoggingBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LoggingBenchmark {
+
+    private static final String CONFIG = "-Dlog4j.configurationFile=log4j2-benchmark.properties";
+    private static final String ASYNC = "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.async.AsyncLoggerContextSelector";
+    private static final String SYNC = "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.selector.ClassLoaderContextSelector";
+
+    private final Object locator = "By.xpath: //button[normalize-space()='Search']";
+    private final Object state = new StringBuilder("ElementState{displayed=true, enabled=true, value='', text='Search'}");
+    private int step;
+
+    @Setup
+    public void setUp() {
+        ThreadContext.put(Log.SCENARIO_KEY, "logging-benchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+        ThreadContext.remove(Log.SCENARIO_KEY);
+        LogManager.shutdown();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { CONFIG, ASYNC })
+    public void asyncStep() {
+        logStep();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { CONFIG, SYNC })
+    public void syncStep() {
+        logStep();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { CONFIG, ASYNC })
+    public void debugConcatenated() {
+        Log.debug("Probed 1 element(s): " + state);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { CONFIG, ASYNC })
+    public void debugSupplier() {
+        Log.debug(() -> "Probed 1 element(s): " + state);
+    }
+
+    private void logStep() {
+        Log.info("Step {} clicked {}", ++step, locator);
+        Log.debug("Waiting for element to be clickable: {}", locator);
+        Log.debug("Clicked element: {}", locator);
+        Log.debug("Waiting for element to be visible: {}", locator);
+        Log.debug(() -> "Probed 1 element(s): " + state);
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+
+import org.apache.commons.codec.binary.Base64;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utilities.RsaEncryptor;
+
+/**
+ * Per-call cost of RSA encryption before and after key and cipher reuse.
+ * {@code perCallParsing} is the former DriverUtils.rsaEncryption body: decode and parse the key, then create and
+ * initialize a Cipher on every call. The batch benchmark encrypts {@value #BATCH_SIZE} payloads per operation.
+ * Run with: mvn -Pbenchmark test-compile exec:java -Dexec.args="RsaEncryptionBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RsaEncryptionBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private String publicKey;
+    private String payload;
+    private List<String> batch;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        publicKey = Base64.encodeBase64String(generator.generateKeyPair().getPublic().getEncoded());
+        payload = "superadmin:Password@123";
+        batch = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(payload + i);
+        }
+    }
+
+    @Benchmark
+    public String perCallParsing() throws Exception {
+        PublicKey key = KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(Base64.decodeBase64(publicKey)));
+        Cipher cipher = Cipher.getInstance("RSA");
+        cipher.init(Cipher.ENCRYPT_MODE, key);
+        return new String(Base64.encodeBase64(cipher.doFinal(payload.getBytes(StandardCharsets.UTF_8))), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String cachedKeyAndCipher() throws Exception {
+        return RsaEncryptor.encrypt(publicKey, payload);
+    }
+
+    @Benchmark
+    public List<String> cachedBatch() throws Exception {
+        return RsaEncryptor.encryptAll(publicKey, batch);
+    }
+}
@@ -0,0 +1,218 @@
+package DriverFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import utilities.ConfigReader;
+
+/**
+ * Resolves browser driver binaries from a local content-addressed cache instead of asking WebDriverManager on every launch.
+ * Binaries are stored as {@code <cache>/sha256/<hash>/<binary>} and indexed by browser and pinned version, so a
+ * resolution works offline once the binary has been seen. Lookup order is cache, then the local mirror directory, then
+ * WebDriverManager (skipped in offline mode). Without a pinned version the cache and mirror are only used offline: the installed
+ * browser may have updated since, so online runs let WebDriverManager match the driver to it and refresh the index.
+ * Each browser is resolved at most once per JVM; later launches reuse the result with no lookup at all.
+ */
+public class DriverBinaryResolver {
+
+    private static final Logger log = LogManager.getLogger(DriverBinaryResolver.class);
+    private static final boolean WINDOWS = System.getProperty("os.name", "").toLowerCase().contains("win");
+    private static final String DEFAULT_VERSION = "default";
+
+    private static final Map<String, Path> resolvedBinaries = new ConcurrentHashMap<>();
+    private static final Map<String, Long> resolutionMillis = new ConcurrentHashMap<>();
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Resolves the driver binary for a browser and registers it in the matching "webdriver.*.driver" system property.
+     * Browsers without a separate driver binary (safari) are ignored.
+     * @param browser Normalized browser name
+     * @return Path of the resolved binary, or null if the browser needs none
+     */
+    public static Path resolve(String browser) {
+        DriverBinary binary = DriverBinary.forBrowser(browser);
+        if (binary == null) {
+            return null;
+        }
+        return resolvedBinaries.computeIfAbsent(browser, b -> {
+            long start = System.nanoTime();
+            Path path = resolveBinary(binary);
+            System.setProperty(binary.systemProperty, path.toString());
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            resolutionMillis.put(b, millis);
+            log.info("Resolved {} for [{}] in {} ms: {}", binary.fileName(), b, millis, path);
+            return path;
+        });
+    }
+
+    /**
+     * @return Time spent resolving each browser's driver in this JVM, in milliseconds.
+     */
+    public static Map<String, Long> getResolutionMillis() {
+        return resolutionMillis;
+    }
+
+    private static Path resolveBinary(DriverBinary binary) {
+        ConfigReader configReader = new ConfigReader();
+        Path cacheDir = Paths.get(configReader.getDriverCacheDir());
+        String version = configReader.getDriverVersion(binary.browser);
+        String indexKey = version != null ? version : DEFAULT_VERSION;
+        String expectedHash = configReader.getDriverChecksum(binary.browser);
+        Path index = cacheDir.resolve(binary.browser).resolve(indexKey + ".sha256");
+
+        boolean offline = configReader.isDriverOfflineMode();
+        try {
+            Path cached = version != null || offline ? fromCache(cacheDir, index, binary) : null;
+            if (cached != null) {
+                verifyPinnedHash(cached, expectedHash);
+                if (version == null) {
+                    log.warn("Offline: using last resolved {} without a pinned version; it may not match the installed browser",
+                            binary.fileName());
+                }
+                log.debug("Using cached {} ({})", binary.fileName(), indexKey);
+                return cached;
+            }
+
+            Path mirrored = Paths.get(configReader.getDriverMirrorDir(), binary.browser, indexKey, binary.fileName());
+            if ((version != null || offline) && Files.isRegularFile(mirrored)) {
+                log.info("Importing {} from local mirror: {}", binary.fileName(), mirrored);
+                return store(cacheDir, index, mirrored, expectedHash, binary);
+            }
+
+            if (offline) {
+                throw new IllegalStateException("No cached or mirrored " + binary.fileName() + " (" + indexKey
+                        + ") found and driver.offline is enabled. Place the binary at " + mirrored);
+            }
+
+            log.info("{} ({}) not cached or not pinned. Resolving through WebDriverManager", binary.fileName(), indexKey);
+            WebDriverManager manager = binary.manager();
+            if (version != null) {
+                manager.driverVersion(version);
+            }
+            manager.setup();
+            return store(cacheDir, index, Paths.get(manager.getDownloadedDriverPath()), expectedHash, binary);
+        } catch (IOException e) {
+            throw new RuntimeException("Driver binary resolution failed for: " + binary.browser, e);
+        }
+    }
+
+    private static Path fromCache(Path cacheDir, Path index, DriverBinary binary) throws IOException {
+        if (!Files.isRegularFile(index)) {
+            return null;
+        }
+        String hash = new String(Files.readAllBytes(index), StandardCharsets.UTF_8).trim();
+        Path cached = cacheDir.resolve("sha256").resolve(hash).resolve(binary.fileName());
+        if (!Files.isRegularFile(cached) || !hash.equals(sha256(cached))) {
+            log.warn("Cache entry for {} is missing or corrupt. Ignoring {}", binary.fileName(), index);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Copies a binary into the content-addressed store and points the version index at it.
+     * Writes go through a temp file and an atomic move so concurrent JVMs never see a partial binary.
+     */
+    private static Path store(Path cacheDir, Path index, Path source, String expectedHash, DriverBinary binary) throws IOException {
+        String hash = sha256(source);
+        if (expectedHash != null && !expectedHash.equalsIgnoreCase(hash)) {
+            throw new IllegalStateException("Checksum mismatch for " + source + ": expected " + expectedHash + " but was " + hash);
+        }
+
+        Path target = cacheDir.resolve("sha256").resolve(hash).resolve(binary.fileName());
+        if (!Files.isRegularFile(target)) {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), binary.fileName(), ".tmp");
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            temp.toFile().setExecutable(true);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        Files.createDirectories(index.getParent());
+        Path tempIndex = Files.createTempFile(index.getParent(), index.getFileName().toString(), ".tmp");
+        Files.write(tempIndex, hash.getBytes(StandardCharsets.UTF_8));
+        Files.move(tempIndex, index, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        log.debug("Cached {} as {}", binary.fileName(), hash);
+        return target;
+    }
+
+    private static void verifyPinnedHash(Path binary, String expectedHash) {
+        if (expectedHash != null && !binary.getParent().getFileName().toString().equalsIgnoreCase(expectedHash)) {
+            throw new IllegalStateException("Cached driver " + binary + " does not match pinned checksum " + expectedHash);
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private enum DriverBinary {
+        CHROME("chrome", "chromedriver", "webdriver.chrome.driver"),
+        FIREFOX("firefox", "geckodriver", "webdriver.gecko.driver"),
+        EDGE("edge", "msedgedriver", "webdriver.edge.driver");
+
+        private final String browser;
+        private final String baseName;
+        private final String systemProperty;
+
+        DriverBinary(String browser, String baseName, String systemProperty) {
+            this.browser = browser;
+            this.baseName = baseName;
+            this.systemProperty = systemProperty;
+        }
+
+        private static DriverBinary forBrowser(String browser) {
+            for (DriverBinary binary : values()) {
+                if (binary.browser.equals(browser)) {
+                    return binary;
+                }
+            }
+            return null;
+        }
+
+        private String fileName() {
+            return WINDOWS ? baseName + ".exe" : baseName;
+        }
+
+        private WebDriverManager manager() {
+            switch (this) {
+                case FIREFOX:
+                    return WebDriverManager.firefoxdriver();
+                case EDGE:
+                    return WebDriverManager.edgedriver();
+                default:
+                    return WebDriverManager.chromedriver();
+            }
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package DriverFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import utilities.AppStability;
+import utilities.ConfigReader;
+import utilities.DevToolsDownloads;
+import utilities.DownloadTracker;
+
+/**
+ * Pool of live browser sessions shared across scenarios.
+ * Each worker thread leases at most one session at a time. Sessions are health-checked on lease,
+ * reset when released, and quit when they fail a check, the scenario fails, or the JVM exits.
+ * The pool can be pre-warmed on background threads and is topped back up as sessions are retired.
+ */
+public class DriverSessionPool {
+
+    private static final Logger log = LogManager.getLogger(DriverSessionPool.class);
+
+    private static final Map<String, BlockingDeque<WebDriver>> idleSessions = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, SessionInfo> liveSessions = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> pendingWarmups = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> warmupTargets = new ConcurrentHashMap<>();
+    private static final Map<String, Function<String, WebDriver>> launchers = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Lease> tlLease = new ThreadLocal<>();
+    private static final int MAX_IDLE_SESSIONS = new ConfigReader().getDriverPoolMaxIdle();
+    private static final long WARMUP_POLL_MILLIS = 250;
+
+    private static final AtomicLong savedNanos = new AtomicLong();
+    private static final AtomicInteger pooledLeases = new AtomicInteger();
+    private static final AtomicInteger launchedSessions = new AtomicInteger();
+
+    private static final ExecutorService warmupExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-pool-warmup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverSessionPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverSessionPool() {
+    }
+
+    /**
+     * Starts launching browser sessions on background threads so they are ready before the first scenario asks.
+     * The pool keeps this many sessions alive for the browser, replacing retired ones in the background.
+     * @param browser  Normalized browser name
+     * @param count    Number of sessions to keep warm, capped at the idle pool size
+     * @param launcher Creates a new session for the given browser
+     */
+    public static void prewarm(String browser, int count, Function<String, WebDriver> launcher) {
+        count = Math.min(count, MAX_IDLE_SESSIONS);
+        if (count <= 0) {
+            return;
+        }
+        launchers.putIfAbsent(browser, launcher);
+        warmupTargets.put(browser, count);
+        log.info("Pre-warming {} [{}] session(s) in the background", count, browser);
+        topUp(browser);
+    }
+
+    /**
+     * Leases a healthy session for the current thread, launching a new one when no idle session passes the health check.
+     * If pre-warmed sessions are still starting, the caller waits for one of those instead of launching its own.
+     * Repeated calls from the same thread return the session it already holds.
+     * @param browser  Normalized browser name
+     * @param launcher Creates a new session for the given browser
+     * @return WebDriver session owned by the current thread until {@link #release(boolean)}
+     */
+    public static WebDriver lease(String browser, Function<String, WebDriver> launcher) {
+        Lease current = tlLease.get();
+        if (current != null) {
+            return current.driver;
+        }
+        launchers.putIfAbsent(browser, launcher);
+
+        long waitStart = System.nanoTime();
+        WebDriver session = takeIdle(browser);
+        if (session != null) {
+            recordSaving(session, System.nanoTime() - waitStart);
+            log.debug("Leased pooled [{}] session to thread [{}]", browser, Thread.currentThread().getName());
+        } else {
+            log.info("No idle [{}] session available. Launching a new one for thread [{}]", browser, Thread.currentThread().getName());
+            session = launch(browser, launcher);
+        }
+        tlLease.set(new Lease(browser, session));
+        return session;
+    }
+
+    /**
+     * Returns the current thread's session to the pool.
+     * @param failed true if the scenario failed; the session is then quit instead of reused
+     */
+    public static void release(boolean failed) {
+        Lease lease = tlLease.get();
+        if (lease == null) {
+            return;
+        }
+        tlLease.remove();
+
+        if (failed) {
+            log.info("Retiring [{}] session after scenario failure", lease.browser);
+            retire(lease.driver);
+            return;
+        }
+
+        BlockingDeque<WebDriver> idle = idleFor(lease.browser);
+        if (idle.size() >= MAX_IDLE_SESSIONS || !reset(lease.driver)) {
+            retire(lease.driver);
+            return;
+        }
+        idle.offerFirst(lease.driver);
+        log.debug("Returned [{}] session to pool. Idle sessions: {}", lease.browser, idle.size());
+    }
+
+    /**
+     * Quits a session and removes it from the pool. A replacement is launched in the background
+     * if the browser has a warm-up target.
+     */
+    public static void retire(WebDriver session) {
+        SessionInfo info = liveSessions.remove(session);
+        DevToolsDownloads.disable(session);
+        DownloadTracker.unregister(session);
+        AppStability.uninstall(session);
+        try {
+            session.quit();
+        } catch (Exception e) {
+            log.warn("Failed to quit retired session: {}", e.getMessage());
+        }
+        if (info != null) {
+            topUp(info.browser);
+        }
+    }
+
+    /**
+     * @return Number of sessions currently open, leased or idle.
+     */
+    public static int liveSessionCount() {
+        return liveSessions.size();
+    }
+
+    /**
+     * @return Wall-clock launch time avoided by serving leases from the pool, in milliseconds.
+     */
+    public static long getSavedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(savedNanos.get());
+    }
+
+    /**
+     * @return Number of leases served by an already running session.
+     */
+    public static int getPooledLeaseCount() {
+        return pooledLeases.get();
+    }
+
+    /**
+     * @return Number of browser sessions launched, in the foreground or background.
+     */
+    public static int getLaunchedSessionCount() {
+        return launchedSessions.get();
+    }
+
+    private static WebDriver takeIdle(String browser) {
+        BlockingDeque<WebDriver> idle = idleFor(browser);
+        while (true) {
+            WebDriver session = idle.pollFirst();
+            if (session == null && pendingFor(browser).get() > 0) {
+                try {
+                    session = idle.pollFirst(WARMUP_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+                if (session == null) {
+                    continue;
+                }
+            }
+            if (session == null) {
+                return null;
+            }
+            if (isHealthy(session)) {
+                return session;
+            }
+            retire(session);
+        }
+    }
+
+    private static WebDriver launch(String browser, Function<String, WebDriver> launcher) {
+        long start = System.nanoTime();
+        WebDriver session = launcher.apply(browser);
+        long launchNanos = System.nanoTime() - start;
+        liveSessions.put(session, new SessionInfo(browser, launchNanos));
+        launchedSessions.incrementAndGet();
+        log.info("Launched [{}] session in {} ms", browser, TimeUnit.NANOSECONDS.toMillis(launchNanos));
+        return session;
+    }
+
+    /**
+     * Launches sessions in the background until live plus pending sessions reach the browser's warm-up target.
+     */
+    private static void topUp(String browser) {
+        Integer target = warmupTargets.get(browser);
+        Function<String, WebDriver> launcher = launchers.get(browser);
+        if (target == null || launcher == null || warmupExecutor.isShutdown()) {
+            return;
+        }
+        AtomicInteger pending = pendingFor(browser);
+        while (true) {
+            // Reserve the slot before launching: retire() calls this from several test threads at once
+            int reserved = pending.get();
+            if (liveCountFor(browser) + reserved >= target) {
+                return;
+            }
+            if (!pending.compareAndSet(reserved, reserved + 1)) {
+                continue;
+            }
+            // A launch may have finished between the check and the reservation
+            if (liveCountFor(browser) + pending.get() > target) {
+                pending.decrementAndGet();
+                return;
+            }
+            warmupExecutor.execute(() -> {
+                try {
+                    WebDriver session = launch(browser, launcher);
+                    idleFor(browser).offerLast(session);
+                } catch (Exception e) {
+                    log.error("Background launch of [{}] session failed: {}", browser, e.getMessage());
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private static void recordSaving(WebDriver session, long waitedNanos) {
+        SessionInfo info = liveSessions.get(session);
+        pooledLeases.incrementAndGet();
+        if (info != null && info.launchNanos > waitedNanos) {
+            savedNanos.addAndGet(info.launchNanos - waitedNanos);
+        }
+    }
+
+    private static long liveCountFor(String browser) {
+        return liveSessions.values().stream().filter(info -> info.browser.equals(browser)).count();
+    }
+
+    private static BlockingDeque<WebDriver> idleFor(String browser) {
+        return idleSessions.computeIfAbsent(browser, b -> new LinkedBlockingDeque<>());
+    }
+
+    private static AtomicInteger pendingFor(String browser) {
+        return pendingWarmups.computeIfAbsent(browser, b -> new AtomicInteger());
+    }
+
+    /**
+     * A session is healthy when its window still responds and it carries no cookies from a previous scenario.
+     */
+    private static boolean isHealthy(WebDriver session) {
+        try {
+            session.getWindowHandle();
+            if (!session.manage().getCookies().isEmpty()) {
+                session.manage().deleteAllCookies();
+            }
+            return session.manage().getCookies().isEmpty();
+        } catch (Exception e) {
+            log.warn("Pooled session failed health check: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Clears cookies and web storage, closes extra windows and parks the session on a blank page.
+     */
+    private static boolean reset(WebDriver session) {
+        try {
+            String primary = session.getWindowHandles().iterator().next();
+            for (String handle : session.getWindowHandles()) {
+                if (!handle.equals(primary)) {
+                    session.switchTo().window(handle).close();
+                }
+            }
+            session.switchTo().window(primary);
+
+            try {
+                ((JavascriptExecutor) session).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+            } catch (Exception e) {
+                log.debug("Web storage not accessible on current page: {}", e.getMessage());
+            }
+            if (session instanceof HasCdp) {
+                ((HasCdp) session).executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            }
+            session.manage().deleteAllCookies();
+            session.navigate().to("about:blank");
+            DevToolsDownloads.reset(session);
+            DownloadTracker.clear(session);
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to reset session for reuse: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static void shutdown() {
+        warmupExecutor.shutdownNow();
+        if (!liveSessions.isEmpty()) {
+            log.info("Quitting {} pooled browser session(s). Launch time saved by pooling: {} ms over {} lease(s)",
+                    liveSessions.size(), getSavedMillis(), getPooledLeaseCount());
+        }
+        for (WebDriver session : liveSessions.keySet().toArray(new WebDriver[0])) {
+            retire(session);
+        }
+        idleSessions.clear();
+    }
+
+    private static final class SessionInfo {
+        private final String browser;
+        private final long launchNanos;
+
+        private SessionInfo(String browser, long launchNanos) {
+            this.browser = browser;
+            this.launchNanos = launchNanos;
+        }
+    }
+
+    private static final class Lease {
+        private final String browser;
+        private final WebDriver driver;
+
+        private Lease(String browser, WebDriver driver) {
+            this.browser = browser;
+            this.driver = driver;
+        }
+    }
+}
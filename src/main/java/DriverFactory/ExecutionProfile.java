@@ -0,0 +1,117 @@
+package DriverFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Browser execution profiles selectable through the "execution.profile" configuration key.
+ * STANDARD launches a headed, maximized browser for local debugging.
+ * LEAN launches a new-headless browser with a fixed small viewport and background features switched off,
+ * trading visibility for CPU and memory on CI agents.
+ */
+public enum ExecutionProfile {
+
+    STANDARD(false),
+    LEAN(true);
+
+    private static final Logger log = LogManager.getLogger(ExecutionProfile.class);
+
+    private static final int VIEWPORT_WIDTH = 1366;
+    private static final int VIEWPORT_HEIGHT = 768;
+    private static final int RENDERER_PROCESS_LIMIT = 2;
+
+    private final boolean headless;
+
+    ExecutionProfile(boolean headless) {
+        this.headless = headless;
+    }
+
+    /**
+     * Resolves a profile by name, falling back to STANDARD when the name is missing or unknown.
+     */
+    public static ExecutionProfile from(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return STANDARD;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown execution profile '{}'. Defaulting to {}.", name, STANDARD);
+            return STANDARD;
+        }
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Command-line switches for Chrome and Edge.
+     */
+    public List<String> chromiumArguments() {
+        if (this == STANDARD) {
+            return Collections.singletonList("--start-maximized");
+        }
+        return Arrays.asList(
+                "--headless=new",
+                "--window-size=" + VIEWPORT_WIDTH + "," + VIEWPORT_HEIGHT,
+                "--disable-gpu",
+                "--disable-extensions",
+                "--disable-background-networking",
+                "--disable-background-timer-throttling",
+                "--disable-renderer-backgrounding",
+                "--disable-dev-shm-usage",
+                "--disable-features=Translate,OptimizationHints,MediaRouter",
+                "--renderer-process-limit=" + RENDERER_PROCESS_LIMIT,
+                "--mute-audio",
+                "--no-first-run");
+    }
+
+    /**
+     * Profile preferences for Chrome and Edge, merged into the "prefs" experimental option.
+     * @param blockImages true to stop image loading; only safe when no step asserts on images
+     */
+    public Map<String, Object> chromiumPrefs(boolean blockImages) {
+        Map<String, Object> prefs = new HashMap<>();
+        if (this == LEAN && blockImages) {
+            prefs.put("profile.managed_default_content_settings.images", 2);
+        }
+        return prefs;
+    }
+
+    /**
+     * Command-line switches for Firefox.
+     */
+    public List<String> firefoxArguments() {
+        if (this == STANDARD) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList("-headless", "--width=" + VIEWPORT_WIDTH, "--height=" + VIEWPORT_HEIGHT);
+    }
+
+    /**
+     * Profile preferences for Firefox.
+     * @param blockImages true to stop image loading; only safe when no step asserts on images
+     */
+    public Map<String, Object> firefoxPrefs(boolean blockImages) {
+        Map<String, Object> prefs = new HashMap<>();
+        if (this == LEAN) {
+            prefs.put("dom.ipc.processCount", RENDERER_PROCESS_LIMIT);
+            prefs.put("network.prefetch-next", false);
+            prefs.put("app.update.enabled", false);
+            prefs.put("extensions.update.enabled", false);
+            prefs.put("browser.safebrowsing.malware.enabled", false);
+            prefs.put("browser.safebrowsing.phishing.enabled", false);
+            if (blockImages) {
+                prefs.put("permissions.default.image", 2);
+            }
+        }
+        return prefs;
+    }
+}
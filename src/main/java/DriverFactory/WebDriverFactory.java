@@ -1,6 +1,8 @@
 package DriverFactory;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
@@ -13,14 +15,22 @@ import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.Wait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import utilities.AppStability;
+import utilities.CachingElementLocatorFactory;
+import utilities.CommandMetrics;
+import utilities.ConfigReader;
+import utilities.DevToolsDownloads;
+import utilities.DownloadTracker;
 
 public class WebDriverFactory {
 
@@ -29,57 +39,96 @@ public class WebDriverFactory {
     private static final ThreadLocal<WebDriver> tlDriver = new ThreadLocal<>();
     private static final ThreadLocal<WebDriverWait> tlWait = new ThreadLocal<>();
     private static final ThreadLocal<Wait<WebDriver>> tlFluentWait = new ThreadLocal<>();
-    public static WebDriver driver;
     private static final long WAIT_TIMEOUT_SECONDS = 15;
     private static final long POLLING_TIMEOUT_MILLIS = 500;
 
+    private static final ExecutionProfile executionProfile = ExecutionProfile.from(new ConfigReader().getExecutionProfile());
+    private static final boolean BLOCK_IMAGES = new ConfigReader().isImageBlockingEnabled();
+    private static final boolean BIDI_ENABLED = new ConfigReader().isBiDiEnabled();
+
     public static final String DOWNLOAD_PATH = System.getProperty("user.home") + File.separator + "Downloads";
 
     /**
-     * Initializes the WebDriver based on the browser name.
+     * Leases a browser session for the current thread from the {@link DriverSessionPool}.
+     * A new browser is launched only when no healthy idle session is available.
      * @param browser The name of the browser (chrome, firefox, safari, edge)
      * @return WebDriver instance
      */
     public WebDriver init_driver(String browser) {
         browser = browser.toLowerCase().trim();
         log.info("Initializing WebDriver for browser: [{}]", browser);
-        if (driver == null) {
-            try {
-                switch (browser) {
-
-                    case "chrome":
-                        WebDriverManager.chromedriver().setup();
-                        driver = new ChromeDriver(chromeOptions());
-                        break;
-                    case "firefox":
-                        WebDriverManager.firefoxdriver().setup();
-                        driver = new FirefoxDriver();
-                        break;
-                    case "safari":
-                        driver = new SafariDriver();
-                        break;
-                    case "edge":
-                        WebDriverManager.edgedriver().setup();
-                        driver = new EdgeDriver();
-                        break;
-                    default:
-                        throw new IllegalArgumentException("Unsupported browser: " + browser);
-                }
-            } catch (Exception e) {
-                throw new RuntimeException("Driver initialization failed for: " + browser, e);
+        WebDriver session = DriverSessionPool.lease(browser, this::launchBrowser);
+        tlDriver.set(session);
+        setupWaitInstances(session);
+        return session;
+    }
+
+    /**
+     * Starts launching browser sessions in the background so scenarios can lease them without paying startup.
+     * @param browser The name of the browser (chrome, firefox, safari, edge)
+     * @param count   Number of sessions to keep warm
+     */
+    public void prewarmSessions(String browser, int count) {
+        DriverSessionPool.prewarm(browser.toLowerCase().trim(), count, this::launchBrowser);
+    }
+
+    /**
+     * Releases the current thread's session back to the pool.
+     * @param failed true if the scenario failed; the session is then retired instead of reused
+     */
+    public static void releaseDriver(boolean failed) {
+        DriverSessionPool.release(failed);
+        CachingElementLocatorFactory.invalidateAll();
+        tlDriver.remove();
+        tlWait.remove();
+        tlFluentWait.remove();
+    }
+
+    private WebDriver launchBrowser(String browser) {
+        WebDriver session;
+        // Safari cannot be pointed at a download directory
+        Path downloadDirectory = "safari".equals(browser) ? null : DownloadTracker.createSessionDirectory();
+        try {
+            switch (browser) {
+
+                case "chrome":
+                    DriverBinaryResolver.resolve(browser);
+                    session = new ChromeDriver(chromeOptions(downloadDirectory));
+                    break;
+                case "firefox":
+                    DriverBinaryResolver.resolve(browser);
+                    session = new FirefoxDriver(firefoxOptions(downloadDirectory));
+                    break;
+                case "safari":
+                    session = new SafariDriver();
+                    break;
+                case "edge":
+                    DriverBinaryResolver.resolve(browser);
+                    session = new EdgeDriver(edgeOptions(downloadDirectory));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported browser: " + browser);
             }
-            tlDriver.set(driver);
-            setupDriverDefaults(driver);
-            setupWaitInstances(driver);
+        } catch (Exception e) {
+            throw new RuntimeException("Driver initialization failed for: " + browser, e);
+        }
+        // Decorate before anything keys off the session, so the pool and trackers see the same instance
+        session = CommandMetrics.decorate(session);
+        AppStability.install(session);
+        if (downloadDirectory != null) {
+            DownloadTracker.register(session, downloadDirectory);
+            DevToolsDownloads.enable(session, downloadDirectory);
         }
-        return driver;
+        setupDriverDefaults(session);
+        return session;
     }
 
-
     private void setupDriverDefaults(WebDriver driver) {
-        log.debug("Setting up driver defaults: maximized window, cookies deleted.");
+        log.debug("Setting up driver defaults for {} profile: cookies deleted.", executionProfile);
         driver.manage().deleteAllCookies();
-        driver.manage().window().maximize();
+        if (!executionProfile.isHeadless()) {
+            driver.manage().window().maximize();
+        }
     }
 
     private void setupWaitInstances(WebDriver driver) {
@@ -91,43 +140,100 @@ public class WebDriverFactory {
                 .ignoring(NoSuchElementException.class, StaleElementReferenceException.class));
     }
 
-    public static synchronized WebDriver getDriver() {
+    public static WebDriver getDriver() {
         return tlDriver.get();
     }
 
-    public static synchronized WebDriverWait getWait() {
+    public static WebDriverWait getWait() {
         return tlWait.get();
     }
 
-    public static synchronized Wait<WebDriver> getFluentWait() {
+    public static Wait<WebDriver> getFluentWait() {
         return tlFluentWait.get();
     }
 
     public ChromeOptions chromeOptions() {
-        log.debug("Configuring ChromeOptions...");
+        return chromeOptions(Paths.get(DOWNLOAD_PATH));
+    }
+
+    /**
+     * @param downloadDirectory Directory the session downloads into
+     */
+    public ChromeOptions chromeOptions(Path downloadDirectory) {
+        log.debug("Configuring ChromeOptions for {} profile...", executionProfile);
         ChromeOptions chromeOptions = new ChromeOptions();
-        chromeOptions.setAcceptInsecureCerts(true);
-        chromeOptions.addArguments("--start-maximized", "--incognito", "--remote-allow-origins=*");
+        configureChromium(chromeOptions, "--incognito", downloadDirectory);
+        return chromeOptions;
+    }
+
+    public EdgeOptions edgeOptions() {
+        return edgeOptions(Paths.get(DOWNLOAD_PATH));
+    }
+
+    /**
+     * @param downloadDirectory Directory the session downloads into
+     */
+    public EdgeOptions edgeOptions(Path downloadDirectory) {
+        log.debug("Configuring EdgeOptions for {} profile...", executionProfile);
+        EdgeOptions edgeOptions = new EdgeOptions();
+        configureChromium(edgeOptions, "--inprivate", downloadDirectory);
+        return edgeOptions;
+    }
+
+    public FirefoxOptions firefoxOptions() {
+        return firefoxOptions(Paths.get(DOWNLOAD_PATH));
+    }
+
+    /**
+     * @param downloadDirectory Directory the session downloads into
+     */
+    public FirefoxOptions firefoxOptions(Path downloadDirectory) {
+        log.debug("Configuring FirefoxOptions for {} profile...", executionProfile);
+        FirefoxOptions firefoxOptions = new FirefoxOptions();
+        firefoxOptions.addArguments(executionProfile.firefoxArguments());
+        executionProfile.firefoxPrefs(BLOCK_IMAGES).forEach(firefoxOptions::addPreference);
+        firefoxOptions.addPreference("browser.download.folderList", 2);
+        firefoxOptions.addPreference("browser.download.dir", downloadDirectory.toString());
+        firefoxOptions.addPreference("browser.download.useDownloadDir", true);
+        firefoxOptions.addPreference("browser.helperApps.neverAsk.saveToDisk", "text/csv,application/csv,application/octet-stream");
+        if (BIDI_ENABLED) {
+            firefoxOptions.setCapability("webSocketUrl", true);
+        }
+        return firefoxOptions;
+    }
+
+    /**
+     * Applies the shared Chrome/Edge settings plus the active execution profile.
+     */
+    private void configureChromium(ChromiumOptions<?> options, String privateModeArgument, Path downloadDirectory) {
+        options.setAcceptInsecureCerts(true);
+        options.addArguments(privateModeArgument, "--remote-allow-origins=*");
+        options.addArguments(executionProfile.chromiumArguments());
 
         Map<String, Object> prefs = new HashMap<>();
         prefs.put("profile.default_content_settings.popups", 0);
         prefs.put("credentials_enable_service", false);
         prefs.put("profile.password_manager_enabled", false);
-        prefs.put("download.default_directory", DOWNLOAD_PATH);
-
-        chromeOptions.setExperimentalOption("prefs", prefs);
-        chromeOptions.setExperimentalOption("excludeSwitches", Collections.singletonList("enable-automation"));
-
-        return chromeOptions;
+        prefs.put("download.default_directory", downloadDirectory.toString());
+        prefs.put("download.prompt_for_download", false);
+        prefs.putAll(executionProfile.chromiumPrefs(BLOCK_IMAGES));
+
+        options.setExperimentalOption("prefs", prefs);
+        options.setExperimentalOption("excludeSwitches", Collections.singletonList("enable-automation"));
+        if (BIDI_ENABLED) {
+            options.setCapability("webSocketUrl", true);
+        }
     }
 
     public void pageRefresh() {
         log.info("Refreshing current page...");
+        CachingElementLocatorFactory.invalidateAll();
         getDriver().navigate().refresh();
     }
 
     public void navigateURL(String url) {
         log.info("Navigating to URL: [{}]", url);
+        CachingElementLocatorFactory.invalidateAll();
         getDriver().navigate().to(url);
     }
 }
\ No newline at end of file
@@ -1,22 +1,50 @@
 package pageComponents;
 
 
-import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import utilities.*;
 
-import java.io.IOException;
-
+/**
+ * Base class for step definitions. Pages and utilities come from the scenario's {@link PageContext}
+ * and are only created when a step first asks for them.
+ */
 public class CorePage extends DriverUtils {
-    public LoginPage loginPage = new LoginPage(driver);
-    public DashboardPage dashboardPage = new DashboardPage(driver);
-    public TransactionPage transactionPage = new TransactionPage(driver);
-    public SchemeRejectTxnsPage schemeRejectTxnsPage = new SchemeRejectTxnsPage (driver);
-    public OdsReader odsReader = new OdsReader();
-    public OTPSteps otpSteps = new OTPSteps();
-    public ConfigReader configReader = new ConfigReader();
-    public MailReader mailReader = new MailReader();
     public String testDataPath = System.getProperty("user.dir") + "\\testData\\";
 
-    protected CorePage() throws IOException, InvalidFormatException {
+    private final PageContext pages;
+
+    protected CorePage(PageContext pages) {
+        this.pages = pages;
+    }
+
+    protected LoginPage loginPage() {
+        return pages.loginPage();
+    }
+
+    protected DashboardPage dashboardPage() {
+        return pages.dashboardPage();
+    }
+
+    protected TransactionPage transactionPage() {
+        return pages.transactionPage();
+    }
+
+    protected SchemeRejectTxnsPage schemeRejectTxnsPage() {
+        return pages.schemeRejectTxnsPage();
+    }
+
+    protected OdsReader odsReader() {
+        return pages.odsReader();
+    }
+
+    protected OTPSteps otpSteps() {
+        return pages.otpSteps();
+    }
+
+    protected ConfigReader configReader() {
+        return pages.configReader();
+    }
+
+    protected MailReader mailReader() {
+        return pages.mailReader();
     }
-}
\ No newline at end of file
+}
@@ -3,7 +3,7 @@ package pageComponents;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+import utilities.CachingElementLocatorFactory;
 import utilities.DriverUtils;
 
 public class DashboardPage extends DriverUtils {
@@ -21,7 +21,7 @@ public class DashboardPage extends DriverUtils {
 
     public DashboardPage(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        CachingElementLocatorFactory.initElements(driver, this);
     }
 
     public String getProfileName() {
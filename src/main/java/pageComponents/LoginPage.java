@@ -1,27 +1,22 @@
 package pageComponents;
 
-import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.openqa.selenium.By;
 import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
-import utilities.ConfigReader;
+import utilities.CachingElementLocatorFactory;
 import utilities.DriverUtils;
-import utilities.OdsReader;
-
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 public class LoginPage extends DriverUtils {
     private WebDriver driver;
-    private ConfigReader configReader = new ConfigReader();
-    private OdsReader odsReader = new OdsReader();
-    private static List<Object> loginDetails = new ArrayList<Object>();
 
     //*****************Locators***********************************//
 
+    private static final By LOGIN_FORM = By.cssSelector("input[name='uid']");
+    private static final By APP_SHELL = By.cssSelector("mat-sidenav, mat-toolbar, .mat-mdc-button-touch-target");
+
     @FindBy(xpath = "//h6[normalize-space()='Login']")
     private WebElement lbl_Login;
     @FindBy(css = "input[name='uid']")
@@ -36,9 +31,9 @@ public class LoginPage extends DriverUtils {
     @FindBy(css = ".error-message, .alert-danger, [role='alert']")
     private WebElement lbl_Error;
 
-    public LoginPage(WebDriver driver) throws IOException, InvalidFormatException {
+    public LoginPage(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        CachingElementLocatorFactory.initElements(driver, this);
     }
 
     public void navigateToLoginPage() {
@@ -68,4 +63,28 @@ public class LoginPage extends DriverUtils {
     public boolean isLoginButtonDisplayed() {
         return btn_Login.isDisplayed();
     }
+
+    /**
+     * Waits for the login form to go away after submitting credentials.
+     */
+    public void waitForLoginToComplete() {
+        waitUntilNotVisible(txt_Email);
+    }
+
+    /**
+     * Waits until the page settles on either the login form or the application shell.
+     * @return true if the application shell is shown, i.e. the session is authenticated
+     */
+    public boolean isLoggedIn() {
+        try {
+            String state = getWait().until(d -> {
+                if (!d.findElements(LOGIN_FORM).isEmpty()) return "login";
+                if (!d.findElements(APP_SHELL).isEmpty()) return "app";
+                return null;
+            });
+            return "app".equals(state);
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package pageComponents;
+
+import DriverFactory.WebDriverFactory;
+import utilities.ConfigReader;
+import utilities.MailReader;
+import utilities.OTPSteps;
+import utilities.OdsReader;
+
+/**
+ * Scenario-scoped holder for page objects and utilities.
+ * The Cucumber PicoContainer object factory creates one instance per scenario and injects it into the step definitions.
+ * Every page and utility is built on first use against the browser session leased by the current thread, so a scenario
+ * only pays for, and only loads, the pages and readers it actually touches.
+ */
+public class PageContext {
+
+    private LoginPage loginPage;
+    private DashboardPage dashboardPage;
+    private TransactionPage transactionPage;
+    private SchemeRejectTxnsPage schemeRejectTxnsPage;
+    private ConfigReader configReader;
+    private OdsReader odsReader;
+    private OTPSteps otpSteps;
+    private MailReader mailReader;
+
+    public LoginPage loginPage() {
+        if (loginPage == null) {
+            loginPage = new LoginPage(WebDriverFactory.getDriver());
+        }
+        return loginPage;
+    }
+
+    public DashboardPage dashboardPage() {
+        if (dashboardPage == null) {
+            dashboardPage = new DashboardPage(WebDriverFactory.getDriver());
+        }
+        return dashboardPage;
+    }
+
+    public TransactionPage transactionPage() {
+        if (transactionPage == null) {
+            transactionPage = new TransactionPage(WebDriverFactory.getDriver());
+        }
+        return transactionPage;
+    }
+
+    public SchemeRejectTxnsPage schemeRejectTxnsPage() {
+        if (schemeRejectTxnsPage == null) {
+            schemeRejectTxnsPage = new SchemeRejectTxnsPage(WebDriverFactory.getDriver());
+        }
+        return schemeRejectTxnsPage;
+    }
+
+    public ConfigReader configReader() {
+        if (configReader == null) {
+            configReader = new ConfigReader();
+        }
+        return configReader;
+    }
+
+    public OdsReader odsReader() {
+        if (odsReader == null) {
+            odsReader = new OdsReader();
+        }
+        return odsReader;
+    }
+
+    public OTPSteps otpSteps() {
+        if (otpSteps == null) {
+            otpSteps = new OTPSteps();
+        }
+        return otpSteps;
+    }
+
+    public MailReader mailReader() {
+        if (mailReader == null) {
+            mailReader = new MailReader();
+        }
+        return mailReader;
+    }
+}
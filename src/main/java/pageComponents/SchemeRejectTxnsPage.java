@@ -1,20 +1,26 @@
 package pageComponents;
 
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+import utilities.CachingElementLocatorFactory;
 import utilities.DriverUtils;
+import utilities.TableReader;
 
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 
 public class SchemeRejectTxnsPage extends DriverUtils {
 
+    private static final By RESULTS_TABLE = By.xpath("//table[.//tbody]");
+
+    private final WebDriver driver;
     private final WebDriverWait wait;
 
     @FindBy(xpath = "//div[contains(text(),'Scheme Reject Txns')]")
@@ -41,7 +47,7 @@ public class SchemeRejectTxnsPage extends DriverUtils {
     public SchemeRejectTxnsPage(WebDriver driver){
         this.driver = driver;
         this.wait = getWait(); // Assuming DriverUtils has getWait() or similar
-        PageFactory.initElements(driver, this);
+        CachingElementLocatorFactory.initElements(driver, this);
     }
 
     public void openPage() {
@@ -72,7 +78,9 @@ public class SchemeRejectTxnsPage extends DriverUtils {
         wait.until(ExpectedConditions.elementToBeClickable(btn_Clear)).click();
     }
     public void clickSearch() {
+        prepareForAppStable();
         wait.until(ExpectedConditions.elementToBeClickable(btn_Search)).click();
+        waitForAppStable();
     }
 
     public boolean areFieldsCleared() {
@@ -82,25 +90,14 @@ public class SchemeRejectTxnsPage extends DriverUtils {
     public boolean isValueMatchedInResults(String expectedValue) {
         try {
             wait.until(driver -> tbl_Rows.size() > 0 || msg_NoRecords.isDisplayed());
-            if (tbl_Rows.isEmpty()) return false;
-            
-            for (WebElement row : tbl_Rows) {
-                if (row.getText().contains(expectedValue)) {
-                    return true;
-                }
-            }
+            return new TableReader(driver, RESULTS_TABLE).whereContains(null, expectedValue).hasMatch();
         } catch (Exception e) {
             return false;
         }
-        return false;
     }
 
     public boolean isNoRecordsMessageDisplayed() {
-        try {
-            return wait.until(ExpectedConditions.visibilityOf(msg_NoRecords)).isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return isVisibleWithin(msg_NoRecords, Duration.ofSeconds(15));
     }
 
     public boolean isValidationErrorMessageDisplayed() {
@@ -1,27 +1,42 @@
 package pageComponents;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import utilities.CachingElementLocatorFactory;
+import utilities.DevToolsDownloads;
+import utilities.DownloadResult;
 import utilities.DriverUtils;
+import utilities.ElementState;
+import utilities.PagePerformance;
+import utilities.TableReader;
 
 public class TransactionPage extends DriverUtils {
 
+    private static final String[] FILTER_TEXT_FIELDS = {
+            "txt_CardNumber", "txt_CardBin", "txt_InvoiceNumber", "txt_TransactionReferenceNumber", "txt_ARN",
+            "txt_RunNumber", "txt_MerchantID", "txt_TerminalNumber", "txt_MCC", "txt_MerchantName", "txt_TransactionAmount"
+    };
+
+    private static final By RESULTS_TABLE = By.xpath("//table[.//tbody]");
+
     private final WebDriver driver;
     private final WebDriverWait wait;
 
     public TransactionPage(WebDriver driver) {
         this.driver = driver;
         this.wait = getWait();
-        PageFactory.initElements(driver, this);
+        CachingElementLocatorFactory.initElements(driver, this);
     }
 
     // ======================== NAVIGATION ========================
@@ -134,7 +149,12 @@ public class TransactionPage extends DriverUtils {
     // ======================== ACTION METHODS ========================
 
     public void openGlobalSearchPage() {
+        prepareForAppStable();
+        PagePerformance.Mark mark = PagePerformance.mark(driver);
         wait.until(ExpectedConditions.elementToBeClickable(nav_GlobalSearch)).click();
+        wait.until(ExpectedConditions.visibilityOf(lbl_GlobalSearchTitle));
+        waitForAppStable();
+        PagePerformance.record(driver, "global-search-page", mark);
     }
 
     public boolean isPageLoaded() {
@@ -177,28 +197,34 @@ public class TransactionPage extends DriverUtils {
     }
 
     public void clickSearch() {
+        prepareForAppStable();
+        PagePerformance.Mark mark = PagePerformance.mark(driver);
         btn_Search.click();
+        waitForAppStable();
         waitForResults();
+        PagePerformance.record(driver, "global-search-results", mark);
     }
 
     public void clickClear() {
         btn_Clear.click();
     }
 
-    public void clickDownload() {
+    /**
+     * Clicks Download and returns a future completed with the exported file, its size and the transfer time.
+     */
+    public CompletableFuture<DownloadResult> clickDownload() {
+        CompletableFuture<DownloadResult> download = DevToolsDownloads.expectDownload(driver);
         btn_Download.click();
+        return download;
     }
 
     public boolean isNoRecordMessageDisplayed() {
-        try {
-            return msg_NoTransactions.isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        // Results have settled in clickSearch, so without history this stays a single check
+        return isVisibleWithin(msg_NoTransactions, Duration.ZERO);
     }
 
     public boolean isTransactionDisplayed() {
-        return transactionRows.size() > 0;
+        return new TableReader(driver, RESULTS_TABLE).hasMatch();
     }
 
     private void waitForResults() {
@@ -223,20 +249,10 @@ public class TransactionPage extends DriverUtils {
     }
 
     public boolean areAllFieldsCleared() {
-
-        return txt_CardNumber.getAttribute("value").isEmpty()
-                && txt_CardBin.getAttribute("value").isEmpty()
-                && txt_InvoiceNumber.getAttribute("value").isEmpty()
-                && txt_TransactionReferenceNumber.getAttribute("value").isEmpty()
-                && txt_ARN.getAttribute("value").isEmpty()
-                && txt_RunNumber.getAttribute("value").isEmpty()
-                && txt_MerchantID.getAttribute("value").isEmpty()
-                && txt_TerminalNumber.getAttribute("value").isEmpty()
-                && txt_MCC.getAttribute("value").isEmpty()
-                && txt_MerchantName.getAttribute("value").isEmpty()
-                && txt_TransactionAmount.getAttribute("value").isEmpty();
-
+        return probe(locatorsOf(this, FILTER_TEXT_FIELDS)).values().stream()
+                .allMatch(field -> field.isPresent() && "".equals(field.getValue()));
     }
+
     public boolean isTabActive(String tabName) {
 
         WebElement activeTab;
@@ -313,10 +329,9 @@ public class TransactionPage extends DriverUtils {
         }
     }
     public boolean areDropdownsReset() {
-        return drp_SchemeStatus.getText().isEmpty()
-                && drp_SettlementStatus.getText().isEmpty()
-                && drp_TransactionType.getText().isEmpty()
-                && drp_LifeCycleStatus.getText().isEmpty();
+        return probe(locatorsOf(this, "drp_SchemeStatus", "drp_SettlementStatus", "drp_TransactionType", "drp_LifeCycleStatus"))
+                .values().stream()
+                .allMatch(dropdown -> dropdown.isPresent() && dropdown.getText().isEmpty());
     }
     public void clickBack() {
         btn_Back.click();
@@ -338,30 +353,14 @@ public class TransactionPage extends DriverUtils {
             // Filter section header
             wait.until(ExpectedConditions.visibilityOf(lbl_FilterBy));
 
-            // Text fields
-            return txt_CardNumber.isDisplayed()
-                    && txt_CardBin.isDisplayed()
-                    && txt_InvoiceNumber.isDisplayed()
-                    && txt_TransactionReferenceNumber.isDisplayed()
-                    && txt_ARN.isDisplayed()
-                    && txt_RunNumber.isDisplayed()
-                    && txt_MerchantID.isDisplayed()
-                    && txt_TerminalNumber.isDisplayed()
-                    && txt_MCC.isDisplayed()
-                    && txt_MerchantName.isDisplayed()
-                    && txt_TransactionAmount.isDisplayed()
-
-                    // Dropdowns
-                    && drp_SchemeStatus.isDisplayed()
-                    && drp_SchemeCode.isDisplayed()
-                    && drp_LifeCycleStatus.isDisplayed()
-                    && drp_SettlementStatus.isDisplayed()
-                    && drp_TransactionType.isDisplayed()
-                    && drp_PaymentReleaseStatus.isDisplayed()
-
-                    // Buttons (optional but usually part of filter UI)
-                    && btn_Search.isDisplayed()
-                    && btn_Clear2.isDisplayed();
+            Map<String, By> filterFields = locatorsOf(this, FILTER_TEXT_FIELDS);
+            // Dropdowns
+            filterFields.putAll(locatorsOf(this, "drp_SchemeStatus", "drp_SchemeCode", "drp_LifeCycleStatus",
+                    "drp_SettlementStatus", "drp_TransactionType", "drp_PaymentReleaseStatus"));
+            // Buttons (optional but usually part of filter UI)
+            filterFields.putAll(locatorsOf(this, "btn_Search", "btn_Clear2"));
+
+            return probe(filterFields).values().stream().allMatch(ElementState::isDisplayed);
 
         } catch (Exception e) {
             return false;
@@ -0,0 +1,136 @@
+package utilities;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Element waits that learn how long each locator usually takes.
+ * Conditions are polled with backoff starting at 25 ms, so fast elements return almost immediately. Every success is
+ * recorded per locator key in {@link WaitHistory}; once a key has enough samples its timeout becomes three times its
+ * p99 (at least 2 s, never more than 15 s), and a negative check gives up at twice the p99 instead of the full timeout.
+ * Keys without history, a null key (nothing stable to learn by), or "wait.adaptive=false" keep the fixed 15 s timeout.
+ */
+public final class AdaptiveWait {
+
+    private static final Logger log = LogManager.getLogger(AdaptiveWait.class);
+
+    private static final long INITIAL_POLL_MILLIS = 25;
+    private static final long MAX_POLL_MILLIS = 500;
+    private static final double BACKOFF_FACTOR = 1.5;
+    private static final long TIMEOUT_CAP_MILLIS = 15_000;
+    private static final long TIMEOUT_FLOOR_MILLIS = 2_000;
+    private static final long NEGATIVE_FLOOR_MILLIS = 250;
+    private static final double SAFETY_FACTOR = 3;
+    private static final double NEGATIVE_FACTOR = 2;
+    private static final double PERCENTILE = 99;
+    private static final int MIN_SAMPLES = 20;
+
+    private AdaptiveWait() {
+    }
+
+    /**
+     * Waits until {@code condition} returns a non-null value other than {@code false}.
+     * Element-not-found and stale-element exceptions count as "not yet".
+     * @param key Stable name of what is awaited, e.g. the locator; used to learn its timeout. Null disables learning
+     * @return The condition's value
+     * @throws TimeoutException when the (learned) timeout elapses
+     */
+    public static <T> T until(WebDriver driver, String key, Function<? super WebDriver, T> condition) {
+        long timeoutMillis = timeoutFor(key);
+        long start = System.nanoTime();
+        T result = poll(driver, condition, timeoutMillis);
+        if (result == null) {
+            throw new TimeoutException("Expected condition failed for [" + (key != null ? key : condition) + "] after " + timeoutMillis + " ms");
+        }
+        record(key, start);
+        return result;
+    }
+
+    /**
+     * Negative-check friendly wait: returns false instead of throwing, and stops at twice the key's learned p99.
+     * @param unknownTimeout How long to wait while the key has no history yet
+     * @return true if the condition was met in time
+     */
+    public static boolean appears(WebDriver driver, String key, Function<? super WebDriver, ?> condition, Duration unknownTimeout) {
+        long p99 = Holder.ENABLED && key != null ? Holder.HISTORY.percentile(key, PERCENTILE, MIN_SAMPLES) : -1;
+        long timeoutMillis = p99 >= 0
+                ? clamp(Math.round(p99 * NEGATIVE_FACTOR), NEGATIVE_FLOOR_MILLIS, TIMEOUT_CAP_MILLIS)
+                : unknownTimeout.toMillis();
+        long start = System.nanoTime();
+        if (poll(driver, condition, timeoutMillis) == null) {
+            log.debug("[{}] did not appear within {} ms (learned p99: {} ms)", key, timeoutMillis, p99);
+            return false;
+        }
+        record(key, start);
+        return true;
+    }
+
+    /**
+     * @return Timeout in milliseconds used for the key by {@link #until(WebDriver, String, Function)}
+     */
+    public static long timeoutFor(String key) {
+        if (!Holder.ENABLED || key == null) {
+            return TIMEOUT_CAP_MILLIS;
+        }
+        long p99 = Holder.HISTORY.percentile(key, PERCENTILE, MIN_SAMPLES);
+        return p99 < 0 ? TIMEOUT_CAP_MILLIS : clamp(Math.round(p99 * SAFETY_FACTOR), TIMEOUT_FLOOR_MILLIS, TIMEOUT_CAP_MILLIS);
+    }
+
+    private static <T> T poll(WebDriver driver, Function<? super WebDriver, T> condition, long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long pollMillis = Holder.ENABLED ? INITIAL_POLL_MILLIS : MAX_POLL_MILLIS;
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                // not there yet
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return null;
+            }
+            try {
+                Thread.sleep(Math.min(pollMillis, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting", e);
+            }
+            pollMillis = Math.min(MAX_POLL_MILLIS, Math.round(pollMillis * BACKOFF_FACTOR));
+        }
+    }
+
+    private static void record(String key, long startNanos) {
+        if (Holder.ENABLED && key != null) {
+            Holder.HISTORY.record(key, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Loads the configuration and history on first use.
+     */
+    private static final class Holder {
+        private static final boolean ENABLED;
+        private static final WaitHistory HISTORY;
+
+        static {
+            ConfigReader configReader = new ConfigReader();
+            ENABLED = configReader.isAdaptiveWaitEnabled();
+            HISTORY = ENABLED ? new WaitHistory(configReader.getWaitHistoryFile()) : null;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package utilities;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * Waits for the Angular application to go quiet in a single browser round trip.
+ * XHR/fetch counters are installed into every document of a Chromium session through DevTools when it is launched
+ * ({@link #install(WebDriver)}); other sessions get them from {@link #prepare(WebDriver)}, which callers run before the
+ * action that fires the requests. An async script then checks every animation tick that
+ * all Angular testabilities are stable (no pending zone.js macrotasks), no tracked request is in flight and no
+ * Angular/CDK overlay animation is running. The callback fires once that has held for a short quiet window.
+ */
+public final class AppStability {
+
+    private static final Logger log = LogManager.getLogger(AppStability.class);
+    private static final long QUIET_WINDOW_MILLIS = 50;
+
+    private static final Set<WebDriver> preinstalled = ConcurrentHashMap.newKeySet();
+
+    private static final String INSTALL_SCRIPT =
+            "(function(w) {"
+            + "if (!w.__candsPending) {"
+            + "  w.__candsPending = { requests: 0 };"
+            + "  var send = XMLHttpRequest.prototype.send;"
+            + "  XMLHttpRequest.prototype.send = function() {"
+            + "    w.__candsPending.requests++;"
+            + "    this.addEventListener('loadend', function() { w.__candsPending.requests--; }, { once: true });"
+            + "    return send.apply(this, arguments);"
+            + "  };"
+            + "  if (w.fetch) {"
+            + "    var fetch = w.fetch;"
+            + "    w.fetch = function() {"
+            + "      w.__candsPending.requests++;"
+            + "      return fetch.apply(this, arguments).finally(function() { w.__candsPending.requests--; });"
+            + "    };"
+            + "  }"
+            + "}"
+            + "})(window);";
+
+    // Installs the counters itself if neither install() nor prepare() reached this document
+    private static final String STABILITY_SCRIPT =
+            INSTALL_SCRIPT
+            + "var done = arguments[arguments.length - 1], timeoutMs = arguments[0], quietMs = arguments[1];"
+            + "var w = window;"
+            + "var busy = function() {"
+            + "  if (w.__candsPending.requests > 0) return true;"
+            + "  if (w.getAllAngularTestabilities) {"
+            + "    var t = w.getAllAngularTestabilities();"
+            + "    for (var i = 0; i < t.length; i++) { if (!t[i].isStable()) return true; }"
+            + "  }"
+            + "  return !!document.querySelector('.ng-animating, .cdk-overlay-container .ng-animating');"
+            + "};"
+            + "var start = Date.now(), quietSince = null;"
+            + "(function check() {"
+            + "  var now = Date.now();"
+            + "  if (busy()) { quietSince = null; } else if (quietSince === null) { quietSince = now; }"
+            + "  if (quietSince !== null && now - quietSince >= quietMs) { done(true); return; }"
+            + "  if (now - start >= timeoutMs) { done(false); return; }"
+            + "  setTimeout(check, 16);"
+            + "})();";
+
+    private AppStability() {
+    }
+
+    /**
+     * Registers the request counters to run at the start of every document the session loads, so the first request of a
+     * page is counted too. Only Chromium sessions support this; for the others {@link #prepare(WebDriver)} installs them.
+     */
+    public static void install(WebDriver session) {
+        if (!(session instanceof HasCdp)) {
+            return;
+        }
+        try {
+            ((HasCdp) session).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Collections.singletonMap("source", INSTALL_SCRIPT));
+            preinstalled.add(session);
+            log.debug("Request counters registered for new documents");
+        } catch (RuntimeException e) {
+            log.warn("Could not register request counters through DevTools, installing them before each action: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Forgets a session, e.g. when it quits.
+     */
+    public static void uninstall(WebDriver session) {
+        preinstalled.remove(session);
+    }
+
+    /**
+     * Makes sure the current document counts XHR/fetch calls before an action that fires them, so
+     * {@link #waitUntilStable(WebDriver, Duration)} waits for those calls. A no-op for sessions set up by
+     * {@link #install(WebDriver)}.
+     */
+    public static void prepare(WebDriver driver) {
+        if (!preinstalled.contains(driver)) {
+            ((JavascriptExecutor) driver).executeScript(INSTALL_SCRIPT);
+        }
+    }
+
+    /**
+     * Blocks until the page is stable or the timeout elapses.
+     * The timeout must stay below the session's script timeout (30 s by default).
+     * @return true if the application settled, false on timeout
+     */
+    public static boolean waitUntilStable(WebDriver driver, Duration timeout) {
+        long start = System.nanoTime();
+        try {
+            Object stable = ((JavascriptExecutor) driver).executeAsyncScript(STABILITY_SCRIPT, timeout.toMillis(), QUIET_WINDOW_MILLIS);
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (Boolean.TRUE.equals(stable)) {
+                log.debug("Application stable after {} ms", elapsed);
+                return true;
+            }
+            log.warn("Application still busy after {} ms", elapsed);
+            return false;
+        } catch (ScriptTimeoutException e) {
+            log.warn("Stability script timed out: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package utilities;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.BrowsingContextInspector;
+
+/**
+ * Event-driven waits for new windows, alerts and navigations.
+ * When the session has a WebDriver BiDi channel ("execution.bidi"), each wait subscribes to the matching
+ * browsing-context event and returns as soon as it fires. Otherwise the condition is polled every 50 ms.
+ * In both cases the condition is checked directly as well, so an event that fired before the subscription is not missed.
+ */
+public final class BrowserEvents {
+
+    private static final Logger log = LogManager.getLogger(BrowserEvents.class);
+    private static final long FALLBACK_POLL_MILLIS = 50;
+    private static final long EVENT_POLL_MILLIS = 250;
+
+    private BrowserEvents() {
+    }
+
+    /**
+     * Waits for a window or tab that is not in {@code knownHandles}.
+     * @return Handle of the new window
+     */
+    public static String waitForNewWindow(WebDriver driver, Set<String> knownHandles, Duration timeout) {
+        return await(driver, "new window", timeout,
+                (inspector, signal) -> inspector.onBrowsingContextCreated(info -> signal.run()),
+                () -> {
+                    Set<String> handles = new HashSet<>(driver.getWindowHandles());
+                    handles.removeAll(knownHandles);
+                    return handles.isEmpty() ? null : handles.iterator().next();
+                });
+    }
+
+    /**
+     * Waits until at least {@code count} windows are open.
+     * @return The open window handles
+     */
+    public static Set<String> waitForWindowCount(WebDriver driver, int count, Duration timeout) {
+        return await(driver, count + " window(s)", timeout,
+                (inspector, signal) -> inspector.onBrowsingContextCreated(info -> signal.run()),
+                () -> {
+                    Set<String> handles = driver.getWindowHandles();
+                    return handles.size() >= count ? handles : null;
+                });
+    }
+
+    /**
+     * Waits for a JavaScript alert, confirm or prompt and switches to it.
+     */
+    public static Alert waitForAlert(WebDriver driver, Duration timeout) {
+        return await(driver, "alert", timeout,
+                (inspector, signal) -> inspector.onUserPromptOpened(prompt -> signal.run()),
+                () -> {
+                    try {
+                        return driver.switchTo().alert();
+                    } catch (NoAlertPresentException e) {
+                        return null;
+                    }
+                });
+    }
+
+    /**
+     * Waits until the top-level page has left {@code fromUrl} and the new document has been parsed.
+     * @return The new URL
+     */
+    public static String waitForNavigation(WebDriver driver, String fromUrl, Duration timeout) {
+        return await(driver, "navigation from " + fromUrl, timeout,
+                (inspector, signal) -> inspector.onDomContentLoaded(info -> signal.run()),
+                () -> {
+                    String url = driver.getCurrentUrl();
+                    if (url == null || url.equals(fromUrl)) {
+                        return null;
+                    }
+                    Object state = ((JavascriptExecutor) driver).executeScript("return document.readyState;");
+                    return "loading".equals(state) ? null : url;
+                });
+    }
+
+    private static <T> T await(WebDriver driver, String description, Duration timeout,
+                               BiConsumer<BrowsingContextInspector, Runnable> subscription, Supplier<T> condition) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        Semaphore events = new Semaphore(0);
+        BrowsingContextInspector inspector = openInspector(driver);
+        if (inspector != null) {
+            subscription.accept(inspector, events::release);
+        }
+        long pollNanos = TimeUnit.MILLISECONDS.toNanos(inspector != null ? EVENT_POLL_MILLIS : FALLBACK_POLL_MILLIS);
+        try {
+            while (true) {
+                T result = condition.get();
+                if (result != null) {
+                    log.debug("Observed {} after {} ms", description, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    return result;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException("Timed out after " + timeout.toMillis() + " ms waiting for " + description);
+                }
+                // Returns early when the subscribed event fires; the condition is then re-checked straight away
+                events.tryAcquire(Math.min(pollNanos, remaining), TimeUnit.NANOSECONDS);
+                events.drainPermits();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for " + description, e);
+        } finally {
+            if (inspector != null) {
+                inspector.close();
+            }
+        }
+    }
+
+    private static BrowsingContextInspector openInspector(WebDriver driver) {
+        if (!(driver instanceof HasBiDi) || ((HasBiDi) driver).maybeGetBiDi().isEmpty()) {
+            return null;
+        }
+        try {
+            return new BrowsingContextInspector(driver);
+        } catch (RuntimeException e) {
+            log.debug("BiDi browsing-context events unavailable, polling instead: {}", e.getMessage());
+            return null;
+        }
+    }
+}
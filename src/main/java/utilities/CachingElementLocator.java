@@ -0,0 +1,51 @@
+package utilities;
+
+import java.lang.reflect.Field;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+
+/**
+ * Element locator that keeps the element it found for the life of its page object.
+ * The cached element is dropped when the current thread navigates (see {@link CachingElementLocatorFactory#invalidateAll()})
+ * or when a call on it fails with a stale element reference. Lists are not cached.
+ */
+public class CachingElementLocator extends DefaultElementLocator {
+
+    private final By by;
+    private WebElement cachedElement;
+    private long cachedEpoch = -1;
+
+    public CachingElementLocator(SearchContext searchContext, Field field) {
+        super(searchContext, field);
+        this.by = new Annotations(field).buildBy();
+    }
+
+    @Override
+    public WebElement findElement() {
+        long epoch = CachingElementLocatorFactory.currentEpoch();
+        if (cachedElement != null && cachedEpoch == epoch) {
+            CachingElementLocatorFactory.recordHit();
+            return cachedElement;
+        }
+        CachingElementLocatorFactory.recordMiss();
+        cachedElement = super.findElement();
+        cachedEpoch = epoch;
+        return cachedElement;
+    }
+
+    /**
+     * Forgets the cached element so the next access looks it up again.
+     */
+    public void invalidate() {
+        cachedElement = null;
+    }
+
+    @Override
+    public String toString() {
+        return "CachingElementLocator '" + by + "'";
+    }
+}
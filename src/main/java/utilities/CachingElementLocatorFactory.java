@@ -0,0 +1,167 @@
+package utilities;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+/**
+ * Locator factory for page objects whose {@code @FindBy} elements are looked up once and then reused.
+ * Single-element fields get a {@link CachingElementLocator} unless marked {@link NoCache}; list fields are always
+ * looked up fresh. Proxies built through {@link #initElements(SearchContext, Object)} retry a call once with a fresh
+ * lookup when the cached element has gone stale. Hit and miss counts are kept per thread and reported per scenario.
+ */
+public class CachingElementLocatorFactory implements ElementLocatorFactory {
+
+    private static final Logger log = LogManager.getLogger(CachingElementLocatorFactory.class);
+
+    private static final ThreadLocal<Counters> tlCounters = ThreadLocal.withInitial(Counters::new);
+
+    private final SearchContext searchContext;
+
+    public CachingElementLocatorFactory(SearchContext searchContext) {
+        this.searchContext = searchContext;
+    }
+
+    /**
+     * Initializes a page object's {@code @FindBy} fields with caching, stale-retrying proxies.
+     * Drop-in replacement for {@code PageFactory.initElements(driver, page)}.
+     */
+    public static void initElements(SearchContext searchContext, Object page) {
+        PageFactory.initElements(new StaleRetryingDecorator(new CachingElementLocatorFactory(searchContext)), page);
+    }
+
+    @Override
+    public ElementLocator createLocator(Field field) {
+        if (field.isAnnotationPresent(NoCache.class) || List.class.isAssignableFrom(field.getType())) {
+            return new DefaultElementLocator(searchContext, field);
+        }
+        return new CachingElementLocator(searchContext, field);
+    }
+
+    /**
+     * Drops every element cached on the current thread. Called whenever the thread's browser navigates to a new document.
+     */
+    public static void invalidateAll() {
+        tlCounters.get().epoch++;
+    }
+
+    /**
+     * Logs the cache hit/miss counts for a scenario and resets them.
+     * @return Summary line, or null if no cached element was accessed
+     */
+    public static String report(String scenarioName) {
+        Counters counters = tlCounters.get();
+        long lookups = counters.hits + counters.misses;
+        if (lookups == 0) {
+            return null;
+        }
+        String summary = String.format("Element cache: %d hit(s), %d miss(es), %d stale retry(ies) - %d findElement call(s) saved",
+                counters.hits, counters.misses, counters.staleRetries, counters.hits - counters.staleRetries);
+        log.info("Scenario '{}' {}", scenarioName, summary);
+        counters.hits = 0;
+        counters.misses = 0;
+        counters.staleRetries = 0;
+        return summary;
+    }
+
+    /**
+     * @return A key naming the element by its locator if it is a page object proxy, or null for a plain element,
+     *         whose description carries the session id and so is not stable across runs
+     */
+    static String locatorKey(WebElement element) {
+        if (Proxy.isProxyClass(element.getClass()) && Proxy.getInvocationHandler(element) instanceof StaleRetryingHandler) {
+            return ((StaleRetryingHandler) Proxy.getInvocationHandler(element)).description;
+        }
+        return null;
+    }
+
+    static long currentEpoch() {
+        return tlCounters.get().epoch;
+    }
+
+    static void recordHit() {
+        tlCounters.get().hits++;
+    }
+
+    static void recordMiss() {
+        tlCounters.get().misses++;
+    }
+
+    private static final class Counters {
+        private long epoch;
+        private long hits;
+        private long misses;
+        private long staleRetries;
+    }
+
+    /**
+     * Field decorator whose element proxies re-run a call once after invalidating a stale cached element.
+     */
+    private static final class StaleRetryingDecorator extends DefaultFieldDecorator {
+
+        private StaleRetryingDecorator(ElementLocatorFactory factory) {
+            super(factory);
+        }
+
+        @Override
+        protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+            return (WebElement) Proxy.newProxyInstance(loader,
+                    new Class[] {WebElement.class, WrapsElement.class, Locatable.class},
+                    new StaleRetryingHandler(locator));
+        }
+    }
+
+    private static final class StaleRetryingHandler implements InvocationHandler {
+
+        private final ElementLocator locator;
+        private final String description;
+
+        private StaleRetryingHandler(ElementLocator locator) {
+            this.locator = locator;
+            this.description = "Proxy element for: " + locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // Stable and free: logging a proxy or using it as a wait key must not trigger a lookup or build a string
+            if ("toString".equals(method.getName())) {
+                return description;
+            }
+            WebElement element = locator.findElement();
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException) || !(locator instanceof CachingElementLocator)) {
+                    throw e.getCause();
+                }
+                ((CachingElementLocator) locator).invalidate();
+                tlCounters.get().staleRetries++;
+                log.debug("Cached element went stale, looking it up again: {}", locator);
+                try {
+                    return method.invoke(locator.findElement(), args);
+                } catch (InvocationTargetException retry) {
+                    throw retry.getCause();
+                }
+            }
+        }
+    }
+}
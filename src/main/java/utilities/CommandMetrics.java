@@ -0,0 +1,220 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import com.google.gson.GsonBuilder;
+
+/**
+ * Counts and times every WebDriver command (findElement, getAttribute, executeScript, click, ...) and attributes it
+ * to the current Cucumber step and the page-object method that issued it.
+ * Sessions are only decorated when {@code metrics.webdriver} is enabled, so there is no cost when it is off.
+ */
+public final class CommandMetrics implements WebDriverListener {
+
+    private static final Logger log = LogManager.getLogger(CommandMetrics.class);
+    private static final String PAGE_PACKAGE = "pageComponents.";
+    private static final String NO_STEP = "(outside steps)";
+    private static final String NO_PAGE = "(direct)";
+    private static final Class<?>[] LOCAL_HELPERS = {WebDriver.Options.class, WebDriver.TargetLocator.class,
+            WebDriver.Navigation.class, WebDriver.Timeouts.class, WebDriver.Window.class, DevTools.class};
+
+    private static final boolean ENABLED = new ConfigReader().isCommandMetricsEnabled();
+    private static final CommandMetrics INSTANCE = new CommandMetrics();
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private static final ThreadLocal<String> tlStep = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<Long>> tlStarts = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final Map<Key, Stats> stats = new ConcurrentHashMap<>();
+
+    private CommandMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return The session wrapped with the metrics listener, or the session itself when metrics are off
+     */
+    public static WebDriver decorate(WebDriver session) {
+        return ENABLED ? new EventFiringDecorator<>(INSTANCE).decorate(session) : session;
+    }
+
+    /**
+     * Attributes the current thread's following commands to a step. Null clears it.
+     */
+    public static void stepStarted(String step) {
+        if (step == null) {
+            tlStep.remove();
+        } else {
+            tlStep.set(step);
+        }
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isCommand(method)) {
+            tlStarts.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (isCommand(method)) {
+            finish(method);
+        }
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if (isCommand(method)) {
+            finish(method);
+        }
+    }
+
+    private static void finish(Method method) {
+        Long start = tlStarts.get().poll();
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        String step = tlStep.get();
+        Key key = new Key(step != null ? step : NO_STEP, callingPageMethod(),
+                method.getDeclaringClass().getSimpleName() + "." + method.getName());
+        Stats entry = stats.computeIfAbsent(key, k -> new Stats());
+        entry.count.increment();
+        entry.nanos.add(nanos);
+    }
+
+    /**
+     * Local calls never reach the browser and are not counted: Object methods, unwrapping, and accessors that only
+     * hand out a helper object (manage(), switchTo(), navigate(), timeouts(), window(), getDevTools()).
+     */
+    private static boolean isCommand(Method method) {
+        Class<?> declaring = method.getDeclaringClass();
+        if (declaring == Object.class || declaring == WrapsDriver.class || declaring == WrapsElement.class) {
+            return false;
+        }
+        Class<?> returned = method.getReturnType();
+        for (Class<?> helper : LOCAL_HELPERS) {
+            if (helper == returned) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String callingPageMethod() {
+        Optional<String> frame = STACK_WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(PAGE_PACKAGE))
+                .findFirst()
+                .map(f -> f.getClassName().substring(PAGE_PACKAGE.length()) + "." + f.getMethodName()));
+        return frame.orElse(NO_PAGE);
+    }
+
+    /**
+     * Writes the per-step command counts and wire time to {@code <directory>/<baseName>.json} and {@code .csv},
+     * slowest step first. Does nothing when metrics are off or no command was recorded.
+     */
+    public static void writeReport(Path directory, String baseName) {
+        if (!ENABLED || stats.isEmpty()) {
+            return;
+        }
+        Map<String, Long> stepNanos = new ConcurrentHashMap<>();
+        stats.forEach((key, entry) -> stepNanos.merge(key.step, entry.nanos.sum(), Long::sum));
+
+        List<Map.Entry<Key, Stats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort(Comparator.<Map.Entry<Key, Stats>>comparingLong(e -> -stepNanos.get(e.getKey().step))
+                .thenComparing(e -> e.getKey().step)
+                .thenComparingLong(e -> -e.getValue().nanos.sum()));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<Key, Stats> e : entries) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("step", e.getKey().step);
+            row.put("pageMethod", e.getKey().pageMethod);
+            row.put("command", e.getKey().command);
+            row.put("count", e.getValue().count.sum());
+            row.put("wireMillis", TimeUnit.NANOSECONDS.toMillis(e.getValue().nanos.sum()));
+            rows.add(row);
+        }
+        try {
+            Files.createDirectories(directory);
+            try (Writer writer = Files.newBufferedWriter(directory.resolve(baseName + ".json"), StandardCharsets.UTF_8)) {
+                new GsonBuilder().setPrettyPrinting().create().toJson(rows, writer);
+            }
+            try (Writer writer = Files.newBufferedWriter(directory.resolve(baseName + ".csv"), StandardCharsets.UTF_8)) {
+                writer.write(String.format("step,pageMethod,command,count,wireMillis%n"));
+                for (Map<String, Object> row : rows) {
+                    writer.write(String.format("%s,%s,%s,%d,%d%n", csv(row.get("step")), csv(row.get("pageMethod")),
+                            csv(row.get("command")), row.get("count"), row.get("wireMillis")));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not write WebDriver command report: {}", e.getMessage());
+            return;
+        }
+        log.info("WebDriver command metrics for {} step(s) written to {}", stepNanos.size(), directory.resolve(baseName + ".csv"));
+    }
+
+    private static String csv(Object value) {
+        return "\"" + String.valueOf(value).replace("\"", "\"\"") + "\"";
+    }
+
+    private static final class Key {
+        private final String step;
+        private final String pageMethod;
+        private final String command;
+
+        private Key(String step, String pageMethod, String command) {
+            this.step = step;
+            this.pageMethod = pageMethod;
+            this.command = command;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return step.equals(other.step) && pageMethod.equals(other.pageMethod) && command.equals(other.command);
+        }
+
+        @Override
+        public int hashCode() {
+            return (step.hashCode() * 31 + pageMethod.hashCode()) * 31 + command.hashCode();
+        }
+    }
+
+    private static final class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+}
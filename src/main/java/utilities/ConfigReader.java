@@ -1,5 +1,6 @@
 package utilities;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Properties;
@@ -69,6 +70,10 @@ public class ConfigReader {
         return getProperty("PhoneNumber");
     }
 
+    public String getEnvironment() {
+        return getProperty("environment");
+    }
+
     public String getUrlDetails() {
         String env = getProperty("environment");
         return env != null ? getProperty(env + "_URL") : null;
@@ -112,14 +117,178 @@ public class ConfigReader {
      * Defaults to 1 if the property is missing or invalid.
      */
     public int getMaxRetryCount() {
-        String countStr = getProperty("maxRetryCount");
-        if (countStr != null) {
+        return getIntProperty("maxRetryCount", 1);
+    }
+
+    /**
+     * Retrieves the maximum number of idle browser sessions kept for reuse.
+     * Defaults to 3 (the surefire thread count) if the property is missing or invalid.
+     */
+    public int getDriverPoolMaxIdle() {
+        return getIntProperty("driver.pool.maxIdle", 3);
+    }
+
+    /**
+     * Retrieves the number of browser sessions to launch in the background before the first scenario.
+     * Defaults to 0 (no warm-up) if the property is missing or invalid.
+     */
+    public int getDriverPoolWarmup() {
+        return getIntProperty("driver.pool.warmup", 0);
+    }
+
+    /**
+     * How long a captured login session may be reused before a fresh UI login is forced.
+     * Defaults to 20 minutes if the property is missing or invalid.
+     */
+    public int getSessionSnapshotTtlMinutes() {
+        return getIntProperty("session.snapshot.ttlMinutes", 20);
+    }
+
+    /**
+     * Seconds between background flushes of the verbose Extent report.
+     * Defaults to 0, meaning the report is written once at the end of the run.
+     */
+    public int getReportFlushIntervalSeconds() {
+        return getIntProperty("report.flush.intervalSeconds", 0);
+    }
+
+    /**
+     * Retrieves the browser execution profile (STANDARD or LEAN).
+     * A "-Dexecution.profile" system property overrides the configuration file so CI can switch profiles per job.
+     */
+    public String getExecutionProfile() {
+        String override = System.getProperty("execution.profile");
+        return override != null ? override : getProperty("execution.profile");
+    }
+
+    /**
+     * Whether the LEAN profile should also stop image loading. Defaults to false.
+     */
+    public boolean isImageBlockingEnabled() {
+        return getBooleanProperty("execution.blockImages", false);
+    }
+
+    /**
+     * Directory holding the content-addressed driver binary cache. Defaults to ~/.cache/cands-drivers.
+     */
+    public String getDriverCacheDir() {
+        String dir = getOptionalProperty("driver.cache.dir");
+        return dir != null ? dir : System.getProperty("user.home") + File.separator + ".cache" + File.separator + "cands-drivers";
+    }
+
+    /**
+     * Local mirror laid out as {@code <mirror>/<browser>/<version>/<binary>}. Defaults to "drivers" under the project.
+     */
+    public String getDriverMirrorDir() {
+        String dir = getOptionalProperty("driver.mirror.dir");
+        return dir != null ? dir : "drivers";
+    }
+
+    /**
+     * Pinned driver version for a browser, or null when unpinned.
+     */
+    public String getDriverVersion(String browser) {
+        return getOptionalProperty("driver." + browser + ".version");
+    }
+
+    /**
+     * Expected SHA-256 of a browser's driver binary, or null when not pinned.
+     */
+    public String getDriverChecksum(String browser) {
+        return getOptionalProperty("driver." + browser + ".sha256");
+    }
+
+    /**
+     * Whether driver resolution must never reach the network. Defaults to false.
+     */
+    public boolean isDriverOfflineMode() {
+        return getBooleanProperty("driver.offline", false);
+    }
+
+    /**
+     * Whether sessions are started with WebDriver BiDi enabled so waits can listen for browser events. Defaults to false.
+     */
+    public boolean isBiDiEnabled() {
+        return getBooleanProperty("execution.bidi", false);
+    }
+
+    /**
+     * Whether element waits use learned per-locator timeouts and backoff polling. Defaults to true.
+     */
+    public boolean isAdaptiveWaitEnabled() {
+        return getBooleanProperty("wait.adaptive", true);
+    }
+
+    /**
+     * File holding per-locator time-to-ready samples across runs. Defaults to target/wait-timings.json.
+     */
+    public String getWaitHistoryFile() {
+        String file = getOptionalProperty("wait.history");
+        return file != null ? file : "target" + File.separator + "wait-timings.json";
+    }
+
+    /**
+     * Whether sessions are decorated to count and time every WebDriver command per step. Defaults to false.
+     */
+    public boolean isCommandMetricsEnabled() {
+        return getBooleanProperty("metrics.webdriver", false);
+    }
+
+    /**
+     * Whether page objects capture browser-side timings after navigations and searches. Defaults to true.
+     */
+    public boolean isPagePerformanceEnabled() {
+        return getBooleanProperty("perf.capture", true);
+    }
+
+    /**
+     * p95 budget in milliseconds configured for a page performance label (perf.budget.&lt;label&gt;), or null if none
+     * or not a whole number of milliseconds.
+     */
+    public Long getPerformanceBudgetMillis(String label) {
+        String key = "perf.budget." + label;
+        String budget = getOptionalProperty(key);
+        if (budget != null) {
+            try {
+                return Long.valueOf(budget);
+            } catch (NumberFormatException e) {
+                log.warn("Invalid {} '{}' in configuration. Expected milliseconds, ignoring.", key, budget);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Internal helper for optional keys: returns null without a warning when the key is missing or blank.
+     */
+    private String getOptionalProperty(String key) {
+        if (properties == null) {
+            init_Prop();
+        }
+        String value = properties.getProperty(key);
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    /**
+     * Internal helper to retrieve boolean property values, falling back to a default when missing.
+     */
+    private boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = getProperty(key);
+        return value != null ? Boolean.parseBoolean(value.trim()) : defaultValue;
+    }
+
+    /**
+     * Internal helper to retrieve integer property values, falling back to a default when missing or invalid.
+     */
+    private int getIntProperty(String key, int defaultValue) {
+        String value = getProperty(key);
+        if (value != null) {
             try {
-                return Integer.parseInt(countStr);
+                return Integer.parseInt(value.trim());
             } catch (NumberFormatException e) {
-                log.warn("Invalid maxRetryCount '{}' in configuration. Defaulting to 1.", countStr);
+                log.warn("Invalid {} '{}' in configuration. Defaulting to {}.", key, value, defaultValue);
             }
         }
-        return 1;
+        return defaultValue;
     }
-}
\ No newline at end of file
+}
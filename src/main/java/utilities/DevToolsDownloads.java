@@ -0,0 +1,234 @@
+package utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Download control through Chrome DevTools.
+ * For Chromium sessions, Browser.setDownloadBehavior points downloads at the session's directory with events enabled,
+ * and the downloadWillBegin/downloadProgress events complete the future returned by {@link #expectDownload(WebDriver)}
+ * with the file's path, size and transfer time. Sessions without DevTools fall back to {@link DownloadTracker}.
+ * The generic Command/Event API is used so no version-specific devtools module is required.
+ */
+public final class DevToolsDownloads {
+
+    private static final Logger log = LogManager.getLogger(DevToolsDownloads.class);
+    private static final Duration FALLBACK_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final Event<Map<String, Object>> DOWNLOAD_WILL_BEGIN = new Event<>("Browser.downloadWillBegin", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> DOWNLOAD_PROGRESS = new Event<>("Browser.downloadProgress", input -> input.read(Json.MAP_TYPE));
+
+    private static final Map<WebDriver, DevToolsDownloads> sessions = new ConcurrentHashMap<>();
+    private static final ExecutorService fallbackExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "download-watch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path directory;
+    private final Map<String, Pending> inFlight = new ConcurrentHashMap<>();
+    private final Queue<CompletableFuture<DownloadResult>> expected = new ConcurrentLinkedQueue<>();
+
+    private DevToolsDownloads(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Routes a Chromium session's downloads to {@code directory} and starts listening for download events.
+     * Does nothing for other browsers.
+     */
+    public static void enable(WebDriver session, Path directory) {
+        if (!(session instanceof HasCdp) || !(session instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) session).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            DevToolsDownloads downloads = new DevToolsDownloads(directory);
+            devTools.addListener(DOWNLOAD_WILL_BEGIN, downloads::onBegin);
+            devTools.addListener(DOWNLOAD_PROGRESS, downloads::onProgress);
+
+            Map<String, Object> params = new HashMap<>();
+            params.put("behavior", "allow");
+            params.put("downloadPath", directory.toString());
+            params.put("eventsEnabled", true);
+            devTools.send(new Command<Void>("Browser.setDownloadBehavior", params));
+            sessions.put(session, downloads);
+            log.debug("DevTools download events enabled for {}", directory);
+        } catch (RuntimeException e) {
+            log.warn("DevTools download control unavailable, falling back to file-system detection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops tracking a session, e.g. when it quits.
+     */
+    public static void disable(WebDriver session) {
+        DevToolsDownloads downloads = sessions.remove(session);
+        if (downloads != null) {
+            downloads.expected.forEach(future -> future.cancel(false));
+        }
+    }
+
+    /**
+     * Forgets expected and in-flight downloads of a session, e.g. before it is reused by another scenario.
+     */
+    public static void reset(WebDriver session) {
+        DevToolsDownloads downloads = sessions.get(session);
+        if (downloads != null) {
+            downloads.inFlight.clear();
+            CompletableFuture<DownloadResult> future;
+            while ((future = downloads.expected.poll()) != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Registers interest in the next download of the session. Call it before the click that starts the download.
+     * @return Future completed with the finished download, or exceptionally if it is canceled or does not complete
+     *         within 60 seconds
+     */
+    public static CompletableFuture<DownloadResult> expectDownload(WebDriver session) {
+        DevToolsDownloads downloads = sessions.get(session);
+        if (downloads != null) {
+            CompletableFuture<DownloadResult> future = new CompletableFuture<>();
+            downloads.expected.add(future);
+            // A download that never starts must not leave its future to be claimed by a later one
+            future.orTimeout(FALLBACK_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((result, error) -> downloads.expected.remove(future));
+            return future;
+        }
+        Path directory = DownloadTracker.directoryFor(session);
+        Set<String> existing = listNames(directory);
+        long start = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+            File file = DownloadTracker.awaitDownload(directory, name -> !existing.contains(name), FALLBACK_TIMEOUT);
+            if (file == null) {
+                throw new CompletionException(new TimeoutException("No download completed in " + directory));
+            }
+            return new DownloadResult(file.toPath(), file.length(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }, fallbackExecutor);
+    }
+
+    private void onBegin(Map<String, Object> params) {
+        String guid = (String) params.get("guid");
+        String fileName = (String) params.get("suggestedFilename");
+        inFlight.put(guid, new Pending(fileName, System.nanoTime(), System.currentTimeMillis(), nextExpected()));
+        log.info("Download started: {}", fileName);
+    }
+
+    private CompletableFuture<DownloadResult> nextExpected() {
+        // Skip futures that timed out or were canceled but have not been removed yet
+        CompletableFuture<DownloadResult> future = expected.poll();
+        while (future != null && future.isDone()) {
+            future = expected.poll();
+        }
+        return future;
+    }
+
+    private void onProgress(Map<String, Object> params) {
+        String state = (String) params.get("state");
+        if ("inProgress".equals(state)) {
+            return;
+        }
+        Pending pending = inFlight.remove((String) params.get("guid"));
+        if (pending == null) {
+            return;
+        }
+        if ("completed".equals(state)) {
+            long size = ((Number) params.getOrDefault("receivedBytes", 0)).longValue();
+            DownloadResult result = new DownloadResult(savedPath(pending), size,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pending.startNanos));
+            log.info(() -> "Download completed: " + result);
+            if (pending.future != null) {
+                pending.future.complete(result);
+            }
+        } else {
+            log.warn("Download {}: {}", state, pending.fileName);
+            if (pending.future != null) {
+                pending.future.completeExceptionally(new IllegalStateException("Download " + state + ": " + pending.fileName));
+            }
+        }
+    }
+
+    /**
+     * The browser may save under a different name than it suggested (e.g. "Transaction (1).csv") when the file exists.
+     * Falls back to the newest file written since the download began with the same base name and extension.
+     */
+    private Path savedPath(Pending pending) {
+        Path suggested = directory.resolve(pending.fileName);
+        if (Files.isRegularFile(suggested) && suggested.toFile().lastModified() >= pending.startMillis - 1000) {
+            return suggested;
+        }
+        int dot = pending.fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? pending.fileName.substring(0, dot) : pending.fileName;
+        String extension = dot > 0 ? pending.fileName.substring(dot) : "";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(baseName) && name.endsWith(extension);
+                    })
+                    .filter(file -> file.toFile().lastModified() >= pending.startMillis - 1000)
+                    .max(Comparator.comparingLong(file -> file.toFile().lastModified()))
+                    .orElse(suggested);
+        } catch (IOException e) {
+            return suggested;
+        }
+    }
+
+    private static Set<String> listNames(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptySet();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).collect(Collectors.toSet());
+        } catch (IOException e) {
+            return Collections.emptySet();
+        }
+    }
+
+    private static final class Pending {
+        private final String fileName;
+        private final long startNanos;
+        private final long startMillis;
+        private final CompletableFuture<DownloadResult> future;
+
+        private Pending(String fileName, long startNanos, long startMillis, CompletableFuture<DownloadResult> future) {
+            this.fileName = fileName;
+            this.startNanos = startNanos;
+            this.startMillis = startMillis;
+            this.future = future;
+        }
+    }
+}
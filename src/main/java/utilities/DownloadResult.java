@@ -0,0 +1,43 @@
+package utilities;
+
+import java.nio.file.Path;
+
+/**
+ * A finished browser download: where it landed, how big it is and how long it took.
+ */
+public final class DownloadResult {
+
+    private final Path path;
+    private final long sizeBytes;
+    private final long elapsedMillis;
+
+    public DownloadResult(Path path, long sizeBytes, long elapsedMillis) {
+        this.path = path;
+        this.sizeBytes = sizeBytes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return Average transfer rate in bytes per second
+     */
+    public long getBytesPerSecond() {
+        return elapsedMillis > 0 ? sizeBytes * 1000 / elapsedMillis : sizeBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%,d bytes in %d ms, %,d B/s)", path.getFileName(), sizeBytes, elapsedMillis, getBytesPerSecond());
+    }
+}
@@ -0,0 +1,219 @@
+package utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import DriverFactory.WebDriverFactory;
+
+/**
+ * Gives every browser session its own download directory and detects finished downloads through {@link WatchService}
+ * events instead of re-listing a shared folder. Partial files (.crdownload, .part, .tmp) are ignored, and a file is
+ * only reported once no partial sibling is left. The directory is emptied when a pooled session is reset and removed
+ * when the session quits.
+ */
+public final class DownloadTracker {
+
+    private static final Logger log = LogManager.getLogger(DownloadTracker.class);
+    private static final Path DOWNLOADS_ROOT = Paths.get("target", "downloads").toAbsolutePath();
+    private static final String[] PARTIAL_SUFFIXES = {".crdownload", ".part", ".tmp"};
+    // Fallback check for platforms whose WatchService polls the file system (e.g. macOS)
+    private static final long RESCAN_MILLIS = 500;
+
+    private static final Map<WebDriver, Path> sessionDirectories = new ConcurrentHashMap<>();
+
+    private DownloadTracker() {
+    }
+
+    /**
+     * Creates a fresh download directory for a session that is about to be launched.
+     */
+    public static Path createSessionDirectory() {
+        try {
+            Files.createDirectories(DOWNLOADS_ROOT);
+            return Files.createTempDirectory(DOWNLOADS_ROOT, "session-");
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create download directory under " + DOWNLOADS_ROOT, e);
+        }
+    }
+
+    /**
+     * Associates a launched session with the directory its browser downloads into.
+     */
+    public static void register(WebDriver session, Path directory) {
+        sessionDirectories.put(session, directory);
+    }
+
+    /**
+     * Deletes everything the session has downloaded so far, e.g. before it is reused by another scenario.
+     */
+    public static void clear(WebDriver session) {
+        Path directory = sessionDirectories.get(session);
+        if (directory != null) {
+            deleteContents(directory, false);
+        }
+    }
+
+    /**
+     * Forgets a session and removes its download directory.
+     */
+    public static void unregister(WebDriver session) {
+        Path directory = sessionDirectories.remove(session);
+        if (directory != null) {
+            deleteContents(directory, true);
+        }
+    }
+
+    /**
+     * @return The download directory of the given session, or the shared Downloads folder if it has none
+     */
+    public static Path directoryFor(WebDriver session) {
+        Path directory = session != null ? sessionDirectories.get(session) : null;
+        return directory != null ? directory : Paths.get(WebDriverFactory.DOWNLOAD_PATH);
+    }
+
+    /**
+     * @return The current thread's session download directory
+     */
+    public static Path currentDirectory() {
+        return directoryFor(WebDriverFactory.getDriver());
+    }
+
+    /**
+     * Waits for a completed download whose file name matches in the session's download directory.
+     * @return The downloaded file, or null if none completed within the timeout
+     */
+    public static File awaitDownload(WebDriver session, Predicate<String> fileName, Duration timeout) {
+        return awaitDownload(directoryFor(session), fileName, timeout);
+    }
+
+    /**
+     * Waits for a completed download whose file name matches in the given directory.
+     * Returns as soon as the completing file-system event arrives.
+     * @return The downloaded file, or null if none completed within the timeout
+     */
+    public static File awaitDownload(Path directory, Predicate<String> fileName, Duration timeout) {
+        if (!Files.isDirectory(directory)) {
+            log.warn("Download directory does not exist: {}", directory);
+            return null;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try (WatchService watcher = directory.getFileSystem().newWatchService()) {
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            // The download may have finished before the watch was registered
+            Path completed = findCompleted(directory, fileName);
+            while (completed == null) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    log.warn("No completed download matching the expected name in {} after {} ms", directory, timeout.toMillis());
+                    return null;
+                }
+                WatchKey key = watcher.poll(Math.min(remaining, RESCAN_MILLIS), TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    completed = findCompleted(directory, fileName);
+                    continue;
+                }
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        completed = findCompleted(directory, fileName);
+                    } else {
+                        completed = completedFrom(directory, (Path) event.context(), fileName);
+                    }
+                    if (completed != null) {
+                        break;
+                    }
+                }
+                key.reset();
+            }
+            log.info("Download completed: {}", completed);
+            return completed.toFile();
+        } catch (IOException | ClosedWatchServiceException e) {
+            log.error("Failed to watch download directory {}: {}", directory, e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Maps a file-system event to a finished download: a final-named file appearing, or the partial file of a
+     * matching download disappearing.
+     */
+    private static Path completedFrom(Path directory, Path changed, Predicate<String> fileName) {
+        String name = changed.getFileName().toString();
+        String finalName = isPartial(name) ? stripPartialSuffix(name) : name;
+        Path candidate = directory.resolve(finalName);
+        return fileName.test(finalName) && isComplete(candidate) ? candidate : null;
+    }
+
+    private static Path findCompleted(Path directory, Predicate<String> fileName) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!isPartial(name) && fileName.test(name) && isComplete(file)) {
+                    return file;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isComplete(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        for (String suffix : PARTIAL_SUFFIXES) {
+            if (Files.exists(file.resolveSibling(file.getFileName() + suffix))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPartial(String name) {
+        for (String suffix : PARTIAL_SUFFIXES) {
+            if (name.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripPartialSuffix(String name) {
+        return name.substring(0, name.lastIndexOf('.'));
+    }
+
+    private static void deleteContents(Path directory, boolean includeDirectory) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .filter(path -> includeDirectory || !path.equals(directory))
+                    .forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            log.warn("Failed to clean download directory {}: {}", directory, e.getMessage());
+        }
+    }
+}
@@ -4,36 +4,36 @@ import java.awt.AWTException;
 import java.awt.Robot;
 import java.awt.event.KeyEvent;
 import java.io.File;
-import java.nio.charset.StandardCharsets;
-import java.security.KeyFactory;
-import java.security.PublicKey;
-import java.security.spec.EncodedKeySpec;
-import java.security.spec.X509EncodedKeySpec;
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.crypto.Cipher;
-
-import org.apache.commons.codec.binary.Base64;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.pagefactory.Annotations;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 
-import com.github.javafaker.Faker;
-
 import DriverFactory.WebDriverFactory;
 
 /**
@@ -42,9 +42,39 @@ import DriverFactory.WebDriverFactory;
 public class DriverUtils extends WebDriverFactory {
 
     private static final Logger log = LogManager.getLogger(DriverUtils.class);
-    private static final Set<String> GENERATED_COMPANY_NAMES = new HashSet<>();
-    private static final Set<String> GENERATED_RANDOM_NAMES = new HashSet<>();
-    private static final Set<String> GENERATED_PHONE_NUMBERS = new HashSet<>();
+
+    private static final Duration EVENT_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration WINDOW_OPEN_TIMEOUT = Duration.ofMillis(2000);
+
+    private static final Set<String> PROBE_STRATEGIES = Set.of("css selector", "xpath", "id", "name", "class name", "tag name");
+    private static final Map<Field, By> FIELD_LOCATORS = new ConcurrentHashMap<>();
+    /** Script fragment defining find(target) for targets built by {@link #toScriptTarget(By)}. */
+    static final String FIND_TARGET_SCRIPT =
+            "var find = function(t) {"
+            + "  if (!t) return null;"
+            + "  if (t instanceof Element) return t;"
+            + "  switch (t.using) {"
+            + "    case 'css selector': return document.querySelector(t.value);"
+            + "    case 'xpath': return document.evaluate(t.value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "    case 'id': return document.getElementById(t.value);"
+            + "    case 'name': return document.getElementsByName(t.value)[0] || null;"
+            + "    case 'class name': return document.getElementsByClassName(t.value)[0] || null;"
+            + "    case 'tag name': return document.getElementsByTagName(t.value)[0] || null;"
+            + "  }"
+            + "  return null;"
+            + "};";
+    private static final String PROBE_SCRIPT = FIND_TARGET_SCRIPT
+            + "return arguments[0].map(function(t) {"
+            + "  var el = find(t);"
+            + "  if (!el) return { present: false };"
+            + "  var style = window.getComputedStyle(el);"
+            + "  var displayed = el.getClientRects().length > 0 && style.visibility !== 'hidden' && style.display !== 'none' && style.opacity !== '0';"
+            + "  return { present: true, displayed: displayed,"
+            + "    enabled: !el.disabled && el.getAttribute('aria-disabled') !== 'true',"
+            + "    value: ('value' in el) ? String(el.value) : null,"
+            + "    text: displayed ? el.innerText.trim() : '',"
+            + "    cssClass: el.getAttribute('class') || '' };"
+            + "});";
 
     private static final String USER_DIR_TESTDATA =
             System.getProperty("user.dir") + File.separator + "src" + File.separator + "test" + File.separator + "resources" + File.separator + "testData";
@@ -52,28 +82,67 @@ public class DriverUtils extends WebDriverFactory {
     // ---------------------- WAIT HELPERS ----------------------
 
     public static void waitUntilClickable(WebElement element) {
-        log.info("Waiting for element to be clickable: {}", element);
-        getWait().until(ExpectedConditions.elementToBeClickable(element));
+        log.debug("Waiting for element to be clickable: {}", element);
+        AdaptiveWait.until(getDriver(), waitKey("clickable:", element), ExpectedConditions.elementToBeClickable(element));
+    }
+
+    public static WebElement waitUntilClickable(By locator) {
+        log.debug("Waiting for element located by {} to be clickable", locator);
+        return AdaptiveWait.until(getDriver(), "clickable:" + locator, ExpectedConditions.elementToBeClickable(locator));
     }
 
     public static void waitUntilVisible(WebElement element) {
-        log.info("Waiting for element to be visible: {}", element);
-        getWait().until(ExpectedConditions.visibilityOf(element));
+        log.debug("Waiting for element to be visible: {}", element);
+        AdaptiveWait.until(getDriver(), waitKey("visible:", element), ExpectedConditions.visibilityOf(element));
     }
 
     public static void waitUntilVisible(By locator) {
-        log.info("Waiting for element located by {} to be visible", locator);
-        getWait().until(ExpectedConditions.visibilityOfElementLocated(locator));
+        log.debug("Waiting for element located by {} to be visible", locator);
+        AdaptiveWait.until(getDriver(), "visible:" + locator, ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
     public static void waitUntilAllElementsVisible(List<WebElement> elements) {
-        log.info("Waiting for all elements to be visible. Count: {}", elements.size());
+        log.debug("Waiting for all elements to be visible. Count: {}", elements.size());
         getWait().until(ExpectedConditions.visibilityOfAllElements(elements));
     }
 
     public static void waitUntilNotVisible(WebElement element) {
-        log.info("Waiting for element to be invisible: {}", element);
-        getWait().until(ExpectedConditions.invisibilityOf(element));
+        log.debug("Waiting for element to be invisible: {}", element);
+        AdaptiveWait.until(getDriver(), waitKey("invisible:", element), ExpectedConditions.invisibilityOf(element));
+    }
+
+    /**
+     * Negative-check friendly visibility test. Gives up once the element's learned p99 has long passed
+     * instead of waiting the full timeout.
+     * @param unknownTimeout How long to wait while the element has no recorded history
+     */
+    public static boolean isVisibleWithin(WebElement element, Duration unknownTimeout) {
+        return AdaptiveWait.appears(getDriver(), waitKey("visible:", element), ExpectedConditions.visibilityOf(element), unknownTimeout);
+    }
+
+    /**
+     * Adaptive wait key for an element: only page object fields have a stable, locator-based name to learn by.
+     */
+    private static String waitKey(String kind, WebElement element) {
+        String locator = CachingElementLocatorFactory.locatorKey(element);
+        return locator != null ? kind + locator : null;
+    }
+
+    /**
+     * Call before an action whose XHR/fetch calls {@link #waitForAppStable()} should wait for, so the first call of the
+     * current page is counted too.
+     */
+    public static void prepareForAppStable() {
+        AppStability.prepare(getDriver());
+    }
+
+    /**
+     * Waits until Angular has no pending zone tasks, no XHR/fetch call is in flight and overlay animations have finished.
+     * Falls through after the timeout so the caller's own element wait reports what is missing.
+     */
+    public static void waitForAppStable() {
+        log.debug("Waiting for application to become stable");
+        AppStability.waitUntilStable(getDriver(), EVENT_TIMEOUT);
     }
 
     // ---------------------- BASIC ACTIONS ----------------------
@@ -81,12 +150,12 @@ public class DriverUtils extends WebDriverFactory {
     public static void sendKeys(WebElement element, CharSequence value, boolean clickElement) {
         waitUntilVisible(element);
         if (clickElement) {
-            log.info("Clicking element before sending keys");
+            log.debug("Clicking element before sending keys");
             element.click();
         }
         element.clear();
         if (value != null) {
-            log.info("Sending keys: '{}' to element", value);
+            log.debug("Sending keys: '{}' to element", value);
             element.sendKeys(value);
         }
     }
@@ -94,7 +163,7 @@ public class DriverUtils extends WebDriverFactory {
     public void selectValueInSelector(WebElement element, String value) {
         waitUntilVisible(element);
         if (value != null) {
-            log.info("Selecting visible text: '{}' in dropdown", value);
+            log.debug("Selecting visible text: '{}' in dropdown", value);
             new Select(element).selectByVisibleText(value);
         }
     }
@@ -102,7 +171,7 @@ public class DriverUtils extends WebDriverFactory {
     public static void waitAndClick(WebElement element) {
         try {
             waitUntilClickable(element);
-            log.info("Clicking element: {}", element);
+            log.debug("Clicking element: {}", element);
             element.click();
         } catch (Exception e) {
             log.warn("Standard click failed, attempting jClick for element: {}. Error: {}", element, e.getMessage());
@@ -112,9 +181,8 @@ public class DriverUtils extends WebDriverFactory {
 
     public static void waitAndClick(By locator) {
         try {
-            WebElement element = getDriver().findElement(locator);
-            waitUntilClickable(element);
-            log.info("Clicking element located by: {}", locator);
+            WebElement element = waitUntilClickable(locator);
+            log.debug("Clicking element located by: {}", locator);
             element.click();
         } catch (Exception e) {
             log.warn("Click failed for locator: {}. Error: {}", locator, e.getMessage());
@@ -129,34 +197,39 @@ public class DriverUtils extends WebDriverFactory {
     }
 
     public static void customDropDownSelection(WebElement dropdown, WebElement option) {
-        log.info("Selecting option from custom dropdown");
+        log.debug("Selecting option from custom dropdown");
         waitAndClick(dropdown);
         waitAndClick(option);
     }
 
     public static void customDropDownSelection(WebElement dropdown, By option) {
-        log.info("Selecting option (by locator) from custom dropdown");
+        log.debug("Selecting option (by locator) from custom dropdown");
         waitAndClick(dropdown);
         waitAndClick(option);
     }
 
     public void scrollIntoView(By locator) {
-        log.info("Scrolling element located by {} into view", locator);
+        log.debug("Scrolling element located by {} into view", locator);
         scrollIntoView(getDriver().findElement(locator));
     }
 
     public void scrollIntoView(WebElement element) {
-        log.info("Scrolling element into view");
+        log.debug("Scrolling element into view");
         ((JavascriptExecutor) getDriver()).executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
     }
 
     public static void jClick(WebElement element) {
-        log.info("Performing Javascript click on element");
+        log.debug("Performing Javascript click on element");
         ((JavascriptExecutor) getDriver()).executeScript("arguments[0].click();", element);
     }
 
+    /**
+     * Sleeps for a fixed time. Prefer a condition or {@link BrowserEvents} wait; every call is counted by
+     * {@link HardWaitMonitor} and reported at the end of the scenario.
+     */
     public static void hardWait(int timeMs) {
         log.debug("Performing hard wait for {}ms", timeMs);
+        HardWaitMonitor.record(timeMs);
         try {
             Thread.sleep(timeMs);
         } catch (InterruptedException e) {
@@ -199,14 +272,39 @@ public class DriverUtils extends WebDriverFactory {
 
     public String getAlertText() {
         log.info("Switching to alert and getting text");
-        getWait().until(ExpectedConditions.alertIsPresent());
-        return getDriver().switchTo().alert().getText();
+        return BrowserEvents.waitForAlert(getDriver(), EVENT_TIMEOUT).getText();
     }
 
+    /**
+     * Returns the open window handles, first waiting up to 2 seconds for a second window to appear.
+     */
     public Set<String> getWindowHandles() {
         log.info("Getting all window handles");
-        hardWait(2000);
-        return getDriver().getWindowHandles();
+        try {
+            return BrowserEvents.waitForWindowCount(getDriver(), 2, WINDOW_OPEN_TIMEOUT);
+        } catch (TimeoutException e) {
+            log.debug("No additional window opened within {} ms", WINDOW_OPEN_TIMEOUT.toMillis());
+            return getDriver().getWindowHandles();
+        }
+    }
+
+    /**
+     * Waits for a window or tab that was not open before, e.g. after clicking a target="_blank" link.
+     * @param knownHandles Handles captured before the action that opens the window
+     * @return Handle of the new window
+     */
+    public String waitForNewWindow(Set<String> knownHandles) {
+        log.info("Waiting for a new window. Currently open: {}", knownHandles.size());
+        return BrowserEvents.waitForNewWindow(getDriver(), knownHandles, EVENT_TIMEOUT);
+    }
+
+    /**
+     * Waits for the page to navigate away from the given URL and parse the new document.
+     * @return The new URL
+     */
+    public String waitForNavigation(String fromUrl) {
+        log.info("Waiting for navigation away from: {}", fromUrl);
+        return BrowserEvents.waitForNavigation(getDriver(), fromUrl, EVENT_TIMEOUT);
     }
 
     // ---------------------- TEXT / ELEMENT HELPERS ----------------------
@@ -268,48 +366,42 @@ public class DriverUtils extends WebDriverFactory {
 
     // ---------------------- FILE DOWNLOAD UTILITIES ----------------------
 
+    /**
+     * Waits for a completed download whose name contains {@code fileName} in the current session's download directory.
+     */
+    public boolean isFileDownloaded(String fileName) {
+        return awaitDownload(fileName, DownloadTracker.currentDirectory()) != null;
+    }
+
     public boolean isFileDownloaded(String fileName, String downloadDir) {
-        String filesDirectory = System.getProperty("user.home") + File.separator + downloadDir;
-        log.info("Checking if file '{}' is downloaded in: {}", fileName, filesDirectory);
+        return awaitDownload(fileName, Paths.get(System.getProperty("user.home"), downloadDir)) != null;
+    }
 
-        try {
-            return getWait().until(d -> {
-                File folder = new File(filesDirectory);
-                File[] allFiles = folder.listFiles();
-                if (allFiles == null) return false;
-
-                return Arrays.stream(allFiles)
-                        .anyMatch(file -> file.getName().contains(fileName));
-            });
-        } catch (Exception e) {
-            log.warn("File download check failed or timed out: {}", e.getMessage());
-            return false;
-        }
+    /**
+     * Waits for a download whose name contains {@code fileName} in the current session's download directory and deletes it.
+     */
+    public boolean deleteDownloadedFile(String fileName) {
+        return deleteDownload(fileName, DownloadTracker.currentDirectory());
     }
 
     public boolean deleteDownloadedFile(String fileName, String downloadDir) {
-        String filesDirectory = System.getProperty("user.home") + File.separator + downloadDir;
-        log.info("Attempting to delete downloaded file '{}' from: {}", fileName, filesDirectory);
+        return deleteDownload(fileName, Paths.get(System.getProperty("user.home"), downloadDir));
+    }
 
-        try {
-            return getWait().until(d -> {
-                File folder = new File(filesDirectory);
-                File[] allFiles = folder.listFiles();
-                if (allFiles == null) return false;
-
-                for (File file : allFiles) {
-                    if (file.getName().contains(fileName)) {
-                        boolean deleted = file.delete();
-                        if (deleted) log.info("Successfully deleted file: {}", file.getName());
-                        return deleted;
-                    }
-                }
-                return false;
-            });
-        } catch (Exception e) {
-            log.error("Failed to delete downloaded file: {}", e.getMessage());
+    private File awaitDownload(String fileName, Path directory) {
+        log.info("Waiting for file '{}' to be downloaded in: {}", fileName, directory);
+        return DownloadTracker.awaitDownload(directory, name -> name.contains(fileName), EVENT_TIMEOUT);
+    }
+
+    private boolean deleteDownload(String fileName, Path directory) {
+        File file = awaitDownload(fileName, directory);
+        if (file == null) {
+            log.error("Failed to delete downloaded file '{}': not found in {}", fileName, directory);
             return false;
         }
+        boolean deleted = file.delete();
+        if (deleted) log.info("Successfully deleted file: {}", file.getName());
+        return deleted;
     }
 
     public static void verifyFile(String fileName) {
@@ -326,28 +418,17 @@ public class DriverUtils extends WebDriverFactory {
     public String rsaEncryption(String pubKey, String text) throws Exception {
         log.info("Performing RSA encryption");
         try {
-            PublicKey publicKey = loadPublicKey(pubKey);
-            Cipher cipher = Cipher.getInstance("RSA");
-            cipher.init(Cipher.ENCRYPT_MODE, publicKey);
-            byte[] bytes = cipher.doFinal(text.getBytes(StandardCharsets.UTF_8));
-            return new String(Base64.encodeBase64(bytes), StandardCharsets.UTF_8);
+            return RsaEncryptor.encrypt(pubKey, text);
         } catch (Exception e) {
             log.error("RSA Encryption failed: {}", e.getMessage());
             throw e;
         }
     }
 
-    private PublicKey loadPublicKey(String key) throws Exception {
-        byte[] publicKeyBytes = Base64.decodeBase64(key);
-        KeyFactory publicKeyFactory = KeyFactory.getInstance("RSA");
-        EncodedKeySpec publicKeySpec = new X509EncodedKeySpec(publicKeyBytes);
-        return publicKeyFactory.generatePublic(publicKeySpec);
-    }
-
     // ---------------------- WAITS / ACTIONS ----------------------
 
     public static void fluentWait(WebElement element) {
-        log.info("Performing fluent wait for element visibility: {}", element);
+        log.debug("Performing fluent wait for element visibility: {}", element);
         getFluentWait().until(ExpectedConditions.visibilityOf(element));
     }
 
@@ -371,7 +452,7 @@ public class DriverUtils extends WebDriverFactory {
     }
 
     public static void moveToElement(WebElement ele) {
-        log.info("Moving mouse to element: {}", ele);
+        log.debug("Moving mouse to element: {}", ele);
         new Actions(getDriver()).moveToElement(ele).perform();
     }
 
@@ -394,36 +475,100 @@ public class DriverUtils extends WebDriverFactory {
         return data;
     }
 
+    // ---------------------- BATCHED STATE PROBE ----------------------
+
+    /**
+     * Reads value, text, visibility, enabled state and class of several elements in one executeScript call.
+     * xpath, css, id, name, class name and tag name locators are resolved inside the page; link-text locators are
+     * looked up first with findElements.
+     * @param locators Locators keyed by a name used in the result
+     * @return States keyed by the same names, in the same order
+     */
+    public static Map<String, ElementState> probe(Map<String, By> locators) {
+        List<Object> targets = new ArrayList<>();
+        for (By locator : locators.values()) {
+            targets.add(toScriptTarget(locator));
+        }
+        return runProbe(new ArrayList<>(locators.keySet()), targets);
+    }
+
+    /**
+     * Same as {@link #probe(Map)} for elements that are already located. PageFactory proxies still resolve each element
+     * before the script runs; prefer {@link #locatorsOf(Object, String...)} for page object fields.
+     */
+    public static Map<String, ElementState> probeElements(Map<String, WebElement> elements) {
+        return runProbe(new ArrayList<>(elements.keySet()), new ArrayList<>(elements.values()));
+    }
+
+    /**
+     * Builds the locators declared by @FindBy on the named fields of a page object, keyed by field name.
+     */
+    public static Map<String, By> locatorsOf(Object page, String... fieldNames) {
+        Map<String, By> locators = new LinkedHashMap<>();
+        for (String fieldName : fieldNames) {
+            locators.put(fieldName, FIELD_LOCATORS.computeIfAbsent(findField(page.getClass(), fieldName),
+                    field -> new Annotations(field).buildBy()));
+        }
+        return locators;
+    }
+
+    /**
+     * Converts a locator into something the page-side find() can resolve: a using/value map for the strategies it
+     * understands, otherwise the element found through WebDriver, or null when it does not exist.
+     */
+    static Object toScriptTarget(By locator) {
+        if (locator instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            if (PROBE_STRATEGIES.contains(parameters.using())) {
+                Map<String, Object> target = new HashMap<>();
+                target.put("using", parameters.using());
+                target.put("value", parameters.value());
+                return target;
+            }
+        }
+        List<WebElement> found = getDriver().findElements(locator);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, ElementState> runProbe(List<String> names, List<Object> targets) {
+        List<Map<String, Object>> raw = (List<Map<String, Object>>) ((JavascriptExecutor) getDriver()).executeScript(PROBE_SCRIPT, targets);
+        Map<String, ElementState> states = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            states.put(names.get(i), ElementState.from(raw.get(i)));
+        }
+        log.debug(() -> "Probed " + states.size() + " element(s): " + states);
+        return states;
+    }
+
+    private static Field findField(Class<?> type, String fieldName) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException e) {
+                // keep looking in the superclass
+            }
+        }
+        throw new IllegalArgumentException("No field '" + fieldName + "' on " + type.getName());
+    }
+
     // ---------------------- RANDOM NAME / PHONE GENERATION ----------------------
 
     public static String generateName() {
-        String name = new Faker().name().firstName();
-        while (!GENERATED_RANDOM_NAMES.add(name)) {
-            name = new Faker().name().firstName();
-        }
+        String name = TestDataGenerator.next(TestDataGenerator.Kind.FIRST_NAME);
         log.debug("Generated unique name: {}", name);
         return name;
     }
 
     public static String generateValidName() {
-        String name = new Faker().company().name();
-        while (!GENERATED_COMPANY_NAMES.add(name)) {
-            name = new Faker().company().name();
-        }
+        String name = TestDataGenerator.next(TestDataGenerator.Kind.COMPANY_NAME);
         String formattedName = name.replace("and", "Alias").replace("LLC", "Organization");
         log.debug("Generated unique valid company name: {}", formattedName);
         return formattedName;
     }
 
     public static String generateValidPhoneNumber() {
-        String phoneNumber;
-        Random random = new Random();
-        while (true) {
-            int firstDigit = random.nextInt(4) + 6; // 6-9
-            long remainingDigits = (long) (random.nextDouble() * 1_000_000_000L);
-            phoneNumber = String.format("%d%09d", firstDigit, remainingDigits);
-            if (GENERATED_PHONE_NUMBERS.add(phoneNumber)) break;
-        }
+        String phoneNumber = TestDataGenerator.next(TestDataGenerator.Kind.PHONE_NUMBER);
         log.debug("Generated unique phone number: {}", phoneNumber);
         return phoneNumber;
     }
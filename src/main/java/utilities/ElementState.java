@@ -0,0 +1,78 @@
+package utilities;
+
+import java.util.Map;
+
+/**
+ * Snapshot of an element's state as read by {@link DriverUtils#probe(Map)} in a single script call.
+ * An element that could not be found is reported as not present, with every other property empty.
+ */
+public final class ElementState {
+
+    private static final ElementState ABSENT = new ElementState(false, false, false, null, "", "");
+
+    private final boolean present;
+    private final boolean displayed;
+    private final boolean enabled;
+    private final String value;
+    private final String text;
+    private final String cssClass;
+
+    private ElementState(boolean present, boolean displayed, boolean enabled, String value, String text, String cssClass) {
+        this.present = present;
+        this.displayed = displayed;
+        this.enabled = enabled;
+        this.value = value;
+        this.text = text;
+        this.cssClass = cssClass;
+    }
+
+    static ElementState from(Map<String, Object> raw) {
+        if (raw == null || !Boolean.TRUE.equals(raw.get("present"))) {
+            return ABSENT;
+        }
+        return new ElementState(true,
+                Boolean.TRUE.equals(raw.get("displayed")),
+                Boolean.TRUE.equals(raw.get("enabled")),
+                (String) raw.get("value"),
+                raw.get("text") != null ? (String) raw.get("text") : "",
+                raw.get("cssClass") != null ? (String) raw.get("cssClass") : "");
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return The element's value property, or null for elements without one
+     */
+    public String getValue() {
+        return value;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getCssClass() {
+        return cssClass;
+    }
+
+    public boolean hasClass(String name) {
+        return (" " + cssClass + " ").contains(" " + name + " ");
+    }
+
+    @Override
+    public String toString() {
+        return present
+                ? "ElementState{displayed=" + displayed + ", enabled=" + enabled + ", value='" + value + "', text='" + text + "'}"
+                : "ElementState{absent}";
+    }
+}
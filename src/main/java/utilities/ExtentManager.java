@@ -0,0 +1,131 @@
+package utilities;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+
+/**
+ * Run-wide owner of the verbose Extent report.
+ * The Spark reporter is attached exactly once per JVM. Scenarios log through {@link ScenarioReport}, which puts each
+ * entry on a lock-free queue; the flushing thread applies the queued entries and writes the HTML under one lock, once at
+ * shutdown or periodically when "report.flush.intervalSeconds" is set. Worker threads never touch Extent's node lists
+ * while they are being written, and never flush, so report cost no longer grows with each scenario.
+ */
+public class ExtentManager {
+
+    private static final Logger log = LogManager.getLogger(ExtentManager.class);
+    private static final String EXTENT_REPORTS_DIR = "." + File.separator + "ExtentReports-Verbose";
+
+    private static final Object reportLock = new Object();
+    private static final ConcurrentLinkedQueue<Runnable> pendingEvents = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger finishedTests = new AtomicInteger();
+    private static volatile ExtentReports extent;
+
+    private ExtentManager() {
+    }
+
+    /**
+     * @return The run-wide ExtentReports instance, created with its Spark reporter on first use.
+     */
+    public static ExtentReports getExtent() {
+        if (extent == null) {
+            synchronized (reportLock) {
+                if (extent == null) {
+                    extent = createReport();
+                }
+            }
+        }
+        return extent;
+    }
+
+    /**
+     * Creates the report node for a scenario. Node creation is serialized with flushing; entries logged to the returned
+     * report are queued until the next flush.
+     */
+    public static ScenarioReport startTest(String name) {
+        ExtentReports reports = getExtent();
+        synchronized (reportLock) {
+            return new ScenarioReport(reports.createTest(name));
+        }
+    }
+
+    /**
+     * Marks a scenario's report node as complete so the next flush writes it even if it logged nothing.
+     */
+    public static void endTest(String name) {
+        finishedTests.incrementAndGet();
+    }
+
+    static void enqueue(ExtentTest test, Status status, String details) {
+        pendingEvents.offer(() -> test.log(status, details));
+    }
+
+    /**
+     * Applies the queued log entries and writes the report, if anything was logged or finished since the last flush.
+     */
+    public static void flush() {
+        if (extent == null || (pendingEvents.isEmpty() && finishedTests.get() == 0)) {
+            return;
+        }
+        int applied = 0;
+        int finished;
+        synchronized (reportLock) {
+            finished = finishedTests.getAndSet(0);
+            Runnable event;
+            while ((event = pendingEvents.poll()) != null) {
+                event.run();
+                applied++;
+            }
+            extent.flush();
+        }
+        log.debug("Flushed Extent report with {} entries and {} newly finished test(s)", applied, finished);
+    }
+
+    private static ExtentReports createReport() {
+        String dateStamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("MM-dd-yyyy"));
+        ExtentSparkReporter spark = new ExtentSparkReporter(
+                EXTENT_REPORTS_DIR + File.separator + "AutomationReport-" + dateStamp + File.separator + "Automation-Report.html");
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(spark);
+
+        try {
+            ExtentReader.updateExtentPropertiesValue("basefolder.name", "Reports/reports-" + dateStamp + "/reports");
+        } catch (RuntimeException e) {
+            log.warn("Could not update extent properties: {}", e.getMessage());
+        }
+
+        int interval = new ConfigReader().getReportFlushIntervalSeconds();
+        if (interval > 0) {
+            ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "extent-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(ExtentManager::safeFlush, interval, interval, TimeUnit.SECONDS);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(ExtentManager::safeFlush, "extent-final-flush"));
+        log.info("Extent report initialized (background flush interval: {}s)", interval);
+        return reports;
+    }
+
+    private static void safeFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush Extent report: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package utilities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runtime lint for fixed sleeps. Every {@link DriverUtils#hardWait(int)} is recorded against its calling line for the
+ * current thread, and the totals are reported once per scenario so remaining sleeps can be found and replaced with
+ * event-driven waits.
+ */
+public final class HardWaitMonitor {
+
+    private static final Logger log = LogManager.getLogger(HardWaitMonitor.class);
+    private static final StackWalker walker = StackWalker.getInstance();
+
+    private static final ThreadLocal<Map<String, Long>> tlWaits = ThreadLocal.withInitial(LinkedHashMap::new);
+
+    private HardWaitMonitor() {
+    }
+
+    /**
+     * Records a fixed sleep against the first caller outside DriverUtils.
+     */
+    static void record(long millis) {
+        String caller = walker.walk(frames -> frames
+                .filter(f -> !f.getClassName().equals(HardWaitMonitor.class.getName())
+                        && !f.getClassName().equals(DriverUtils.class.getName()))
+                .findFirst()
+                .map(f -> f.getClassName() + "." + f.getMethodName() + ":" + f.getLineNumber())
+                .orElse("unknown"));
+        tlWaits.get().merge(caller, millis, Long::sum);
+    }
+
+    /**
+     * @return Total hard-wait time recorded on this thread since the last {@link #report(String)}
+     */
+    public static long getTotalMillis() {
+        return tlWaits.get().values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Logs the hard waits recorded for a scenario, grouped by call site, and resets the counter.
+     * @return Summary line, or null if the scenario did not sleep
+     */
+    public static String report(String scenarioName) {
+        Map<String, Long> waits = tlWaits.get();
+        if (waits.isEmpty()) {
+            return null;
+        }
+        long total = getTotalMillis();
+        String summary = "hardWait used for " + total + " ms: " + waits;
+        log.warn("Scenario '{}' {}", scenarioName, summary);
+        waits.clear();
+        return summary;
+    }
+}
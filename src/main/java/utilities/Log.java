@@ -2,19 +2,34 @@ package utilities;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.util.Supplier;
 
 /**
  * Static utility class for application-wide logging using Log4j2.
- * Provides support for parameterized messages and exception logging.
+ * Provides support for parameterized messages, lazily built messages and exception logging.
+ * Fixed-arity overloads avoid allocating a varargs array for the common one- and two-parameter cases.
  */
 public class Log {
 
     private static final Logger log = LogManager.getLogger(Log.class);
 
+    /** Thread context key the log configuration routes per-scenario log files by. */
+    public static final String SCENARIO_KEY = "scenario";
+
     /**
-     * Prints a visual marker at the start of a test case.
+     * Prints a visual marker at the start of a test case and routes the thread's log events to the test case's own file.
      */
     public static void startTestCase(String sTestCaseName) {
+        startTestCase(sTestCaseName, null);
+    }
+
+    /**
+     * Like {@link #startTestCase(String)}, with the test case's location (e.g. feature path and line) prefixed to its
+     * log file name so outline rows and same-named scenarios in different features get separate files.
+     */
+    public static void startTestCase(String sTestCaseName, String location) {
+        ThreadContext.put(SCENARIO_KEY, toFileName(location != null ? location + "_" + sTestCaseName : sTestCaseName));
         log.info("****************************************************************************************");
         log.info("$$ START TEST CASE: {} $$", sTestCaseName);
         log.info("****************************************************************************************");
@@ -26,6 +41,12 @@ public class Log {
     public static void endTestCase(String sTestCaseName) {
         log.info("--------------------------- END TEST CASE: {} ---------------------------", sTestCaseName);
         log.info(" ");
+        ThreadContext.remove(SCENARIO_KEY);
+    }
+
+    private static String toFileName(String testCaseName) {
+        String name = testCaseName.replaceAll("[^A-Za-z0-9._-]+", "_");
+        return name.length() > 150 ? name.substring(0, 150) : name;
     }
 
     // --- INFO ---
@@ -33,24 +54,56 @@ public class Log {
         log.info(message);
     }
 
+    public static void info(String message, Object param) {
+        log.info(message, param);
+    }
+
+    public static void info(String message, Object param1, Object param2) {
+        log.info(message, param1, param2);
+    }
+
     public static void info(String message, Object... params) {
         log.info(message, params);
     }
 
+    public static void info(Supplier<?> message) {
+        log.info(message);
+    }
+
     // --- WARN ---
     public static void warn(String message) {
         log.warn(message);
     }
 
+    public static void warn(String message, Object param) {
+        log.warn(message, param);
+    }
+
+    public static void warn(String message, Object param1, Object param2) {
+        log.warn(message, param1, param2);
+    }
+
     public static void warn(String message, Object... params) {
         log.warn(message, params);
     }
 
+    public static void warn(Supplier<?> message) {
+        log.warn(message);
+    }
+
     // --- ERROR ---
     public static void error(String message) {
         log.error(message);
     }
 
+    public static void error(String message, Object param) {
+        log.error(message, param);
+    }
+
+    public static void error(String message, Object param1, Object param2) {
+        log.error(message, param1, param2);
+    }
+
     public static void error(String message, Object... params) {
         log.error(message, params);
     }
@@ -59,11 +112,23 @@ public class Log {
         log.error(message, t);
     }
 
+    public static void error(Supplier<?> message) {
+        log.error(message);
+    }
+
     // --- FATAL ---
     public static void fatal(String message) {
         log.fatal(message);
     }
 
+    public static void fatal(String message, Object param) {
+        log.fatal(message, param);
+    }
+
+    public static void fatal(String message, Object param1, Object param2) {
+        log.fatal(message, param1, param2);
+    }
+
     public static void fatal(String message, Object... params) {
         log.fatal(message, params);
     }
@@ -72,12 +137,28 @@ public class Log {
         log.fatal(message, t);
     }
 
+    public static void fatal(Supplier<?> message) {
+        log.fatal(message);
+    }
+
     // --- DEBUG ---
     public static void debug(String message) {
         log.debug(message);
     }
 
+    public static void debug(String message, Object param) {
+        log.debug(message, param);
+    }
+
+    public static void debug(String message, Object param1, Object param2) {
+        log.debug(message, param1, param2);
+    }
+
     public static void debug(String message, Object... params) {
         log.debug(message, params);
     }
-}
\ No newline at end of file
+
+    public static void debug(Supplier<?> message) {
+        log.debug(message);
+    }
+}
@@ -0,0 +1,15 @@
+package utilities;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a page object field out of element caching, so every access looks the element up again.
+ * Use it for elements Angular re-renders in place without detaching them, e.g. a label whose node is swapped by *ngIf.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface NoCache {
+}
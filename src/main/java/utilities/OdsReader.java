@@ -11,12 +11,14 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Utility class for reading and writing ODS (OpenDocument Spreadsheet) files.
  * Enhanced with thread safety, proper logging, and cross-platform path handling.
+ * Parsed workbooks are shared through {@link SpreadsheetCache}; the write methods invalidate the file they change.
  */
 public class OdsReader {
 
@@ -25,15 +27,16 @@ public class OdsReader {
     private final String userDir = System.getProperty("user.dir") + File.separator + "testData";
     private final File defaultOdsFile = new File(userDir, "issuanceTestData.ods");
     private final String defaultLoginSheetName = "IssuanceLoginDetails";
-    private final String userHome = System.getProperty("user.home");
-    private final File downloadDir = new File(userHome, "Downloads");
 
     /**
-     * Initializes a Sheet from an ODS file.
+     * Reads a sheet of a cached workbook while holding the workbook's lock.
      */
-    public Sheet odsInitialization(File file, String sheetName) throws IOException {
-        log.debug("Initializing ODS sheet: '{}' from file: {}", sheetName, file.getName());
-        return SpreadSheet.createFromFile(file).getSheet(sheetName);
+    private <T> T readSheet(File file, String sheetName, Function<Sheet, T> reader) throws IOException {
+        log.debug("Reading ODS sheet: '{}' from file: {}", sheetName, file.getName());
+        SpreadSheet spreadSheet = SpreadsheetCache.get(file);
+        synchronized (spreadSheet) {
+            return reader.apply(spreadSheet.getSheet(sheetName));
+        }
     }
 
     /**
@@ -44,18 +47,20 @@ public class OdsReader {
         List<Object> details = new ArrayList<>();
 
         try {
-            Sheet sheet = odsInitialization(defaultOdsFile, defaultLoginSheetName);
-            int rowCount = sheet.getRowCount();
-
-            for (int i = 0; i < rowCount; i++) {
-                Object cellValue = sheet.getValueAt(0, i); // Assuming key is in column 0
-                if (cellValue != null && cellValue.toString().equals(userDetailsKey)) {
-                    details.add(sheet.getValueAt(1, i)); // Username in column 1
-                    details.add(sheet.getValueAt(2, i)); // Password in column 2
-                    log.debug("Found details for {}: {}", userDetailsKey, details);
-                    break;
+            readSheet(defaultOdsFile, defaultLoginSheetName, sheet -> {
+                int rowCount = sheet.getRowCount();
+
+                for (int i = 0; i < rowCount; i++) {
+                    Object cellValue = sheet.getValueAt(0, i); // Assuming key is in column 0
+                    if (cellValue != null && cellValue.toString().equals(userDetailsKey)) {
+                        details.add(sheet.getValueAt(1, i)); // Username in column 1
+                        details.add(sheet.getValueAt(2, i)); // Password in column 2
+                        log.debug("Found details for {}: {}", userDetailsKey, details);
+                        break;
+                    }
                 }
-            }
+                return details;
+            });
         } catch (Exception e) {
             log.error("Failed to load ODS login sheet '{}': {}", defaultLoginSheetName, e.getMessage());
         }
@@ -70,15 +75,17 @@ public class OdsReader {
         HashMap<Object, Object> dataMap = new HashMap<>();
 
         try {
-            Sheet sheet = odsInitialization(defaultOdsFile, sheetName);
-            int rowCount = sheet.getRowCount();
+            readSheet(defaultOdsFile, sheetName, sheet -> {
+                int rowCount = sheet.getRowCount();
 
-            for (int i = 0; i < rowCount; i++) {
-                Object key = sheet.getValueAt(0, i);
-                if (key != null && !key.toString().isEmpty()) {
-                    dataMap.put(key, sheet.getValueAt(1, i));
+                for (int i = 0; i < rowCount; i++) {
+                    Object key = sheet.getValueAt(0, i);
+                    if (key != null && !key.toString().isEmpty()) {
+                        dataMap.put(key, sheet.getValueAt(1, i));
+                    }
                 }
-            }
+                return dataMap;
+            });
         } catch (Exception e) {
             log.error("Failed to load ODS sheet data for '{}': {}", sheetName, e.getMessage());
         }
@@ -93,20 +100,22 @@ public class OdsReader {
         HashMap<Object, List<Object>> rowsData = new HashMap<>();
 
         try {
-            Sheet sheet = odsInitialization(defaultOdsFile, sheetName);
-            int colCount = sheet.getColumnCount();
-            int rowCount = sheet.getRowCount();
+            readSheet(defaultOdsFile, sheetName, sheet -> {
+                int colCount = sheet.getColumnCount();
+                int rowCount = sheet.getRowCount();
 
-            for (int i = 0; i < colCount; i++) {
-                Object header = sheet.getValueAt(i, 0);
-                if (header == null) continue;
+                for (int i = 0; i < colCount; i++) {
+                    Object header = sheet.getValueAt(i, 0);
+                    if (header == null) continue;
 
-                List<Object> data = new ArrayList<>();
-                for (int k = 1; k < rowCount; k++) {
-                    data.add(sheet.getValueAt(i, k));
+                    List<Object> data = new ArrayList<>();
+                    for (int k = 1; k < rowCount; k++) {
+                        data.add(sheet.getValueAt(i, k));
+                    }
+                    rowsData.put(header, data);
                 }
-                rowsData.put(header, data);
-            }
+                return rowsData;
+            });
         } catch (Exception e) {
             log.error("Failed to load multiple row data for '{}': {}", sheetName, e.getMessage());
         }
@@ -129,25 +138,27 @@ public class OdsReader {
 
             // Note: Preserving complex format switching logic if it's strictly required by framework flow
             File odsFile = changeFileFormat(".csv", ".ods", latestFile);
-            Sheet sheet = odsInitialization(odsFile, sheetName);
-            int rowCount = sheet.getRowCount();
-            int colCount = sheet.getColumnCount();
-
-            for (int i = 0; i < rowCount; i++) {
-                if (columnName.equals(sheet.getValueAt(0, i))) {
-                    int headerRowIndex = i;
-                    // Logic to extract data below this header for up to 15 columns
-                    for (int k = 0; k < Math.min(colCount, 15); k++) {
-                        List<Object> data = new ArrayList<>();
-                        for (int l = headerRowIndex + 1; l < rowCount; l++) {
-                            Object val = sheet.getValueAt(k, l);
-                            data.add((val == null || val.toString().isEmpty()) ? "Empty Record" : val);
+            readSheet(odsFile, sheetName, sheet -> {
+                int rowCount = sheet.getRowCount();
+                int colCount = sheet.getColumnCount();
+
+                for (int i = 0; i < rowCount; i++) {
+                    if (columnName.equals(sheet.getValueAt(0, i))) {
+                        int headerRowIndex = i;
+                        // Logic to extract data below this header for up to 15 columns
+                        for (int k = 0; k < Math.min(colCount, 15); k++) {
+                            List<Object> data = new ArrayList<>();
+                            for (int l = headerRowIndex + 1; l < rowCount; l++) {
+                                Object val = sheet.getValueAt(k, l);
+                                data.add((val == null || val.toString().isEmpty()) ? "Empty Record" : val);
+                            }
+                            rowsData.put(sheet.getValueAt(k, headerRowIndex), data);
                         }
-                        rowsData.put(sheet.getValueAt(k, headerRowIndex), data);
+                        break;
                     }
-                    break;
                 }
-            }
+                return rowsData;
+            });
             writeDataToOdsFile(sheetName, "Automation Status", latestFile);
         } catch (Exception e) {
             log.error("Failed to load ODS row data with column name: {}", e.getMessage());
@@ -167,6 +178,7 @@ public class OdsReader {
                 if (worksheet != null) {
                     worksheet.getCells().get("P5").putValue(data);
                     workbook.save(targetFile.getAbsolutePath());
+                    SpreadsheetCache.invalidate(targetFile);
                     log.debug("Successfully saved data to P5");
                 }
             }
@@ -188,6 +200,7 @@ public class OdsReader {
                 if (worksheet != null) {
                     worksheet.getCells().get(column + rowIndex).putValue(data);
                     workbook.save(targetFile.getAbsolutePath());
+                    SpreadsheetCache.invalidate(targetFile);
                 }
             }
         } catch (Exception e) {
@@ -208,6 +221,7 @@ public class OdsReader {
                 if (worksheet != null) {
                     worksheet.getCells().get(column + rowIndex).putValue(data);
                     workbook.save(targetFile.getAbsolutePath());
+                    SpreadsheetCache.invalidate(targetFile);
                 }
             }
         } catch (Exception e) {
@@ -216,17 +230,19 @@ public class OdsReader {
     }
 
     /**
-     * Retrieves the latest modified file in the user's Downloads directory.
+     * Retrieves the latest modified file in the current session's download directory.
      */
     public File getLatestDownloadedFile() throws IOException {
-        Path dir = Paths.get(userHome, "Downloads");
+        Path dir = DownloadTracker.currentDirectory();
         if (!Files.exists(dir)) return null;
 
-        return Files.list(dir)
-                .filter(f -> !Files.isDirectory(f))
-                .max(Comparator.comparingLong(f -> f.toFile().lastModified()))
-                .map(Path::toFile)
-                .orElse(null);
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(f -> !Files.isDirectory(f))
+                    .max(Comparator.comparingLong(f -> f.toFile().lastModified()))
+                    .map(Path::toFile)
+                    .orElse(null);
+        }
     }
 
     /**
@@ -239,7 +255,9 @@ public class OdsReader {
                 String newPath = sourceFile.getAbsolutePath().replace(currentFormat, requiredFormat);
                 Workbook workbook = new Workbook(sourceFile.getAbsolutePath());
                 workbook.save(newPath);
-                return new File(newPath);
+                File converted = new File(newPath);
+                SpreadsheetCache.invalidate(converted);
+                return converted;
             }
         } catch (Exception e) {
             log.error("Failed to change file format: {}", e.getMessage());
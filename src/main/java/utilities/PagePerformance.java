@@ -0,0 +1,173 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import com.google.gson.Gson;
+
+/**
+ * Browser-side performance capture for navigations and searches.
+ * A page object takes a {@link Mark} before the action and calls {@link #record(WebDriver, String, Mark)} once the
+ * result has rendered. Each sample holds the elapsed time, the Navigation Timing entry, the Resource Timing entries
+ * since the mark and, on Chromium, a few DevTools Performance.getMetrics values. Samples are kept per scenario for the
+ * report, where steps can also assert p95 budgets over them.
+ */
+public final class PagePerformance {
+
+    private static final Logger log = LogManager.getLogger(PagePerformance.class);
+    private static final boolean ENABLED = new ConfigReader().isPagePerformanceEnabled();
+    private static final Set<String> CDP_METRICS = Set.of("JSHeapUsedSize", "Nodes", "LayoutCount", "RecalcStyleCount",
+            "ScriptDuration", "TaskDuration");
+
+    // The default buffer of 250 entries fills up quickly in a single-page app
+    private static final String MARK_SCRIPT = "if (!window.__candsPerfBuffer) {"
+            + "  performance.setResourceTimingBufferSize(2000); window.__candsPerfBuffer = true;"
+            + "}"
+            + "return performance.now();";
+
+    private static final String CAPTURE_SCRIPT = "var since = arguments[0];"
+            + "var nav = performance.getEntriesByType('navigation')[0];"
+            + "var resources = performance.getEntriesByType('resource').filter(function (r) { return r.startTime >= since; });"
+            + "var bytes = 0, slowest = 0;"
+            + "resources.forEach(function (r) { bytes += r.transferSize || 0; slowest = Math.max(slowest, r.duration); });"
+            + "return {"
+            + "  navigation: nav ? {responseStart: Math.round(nav.responseStart), domContentLoaded: Math.round(nav.domContentLoadedEventEnd),"
+            + "    load: Math.round(nav.loadEventEnd), transferSize: nav.transferSize} : null,"
+            + "  resourceCount: resources.length, resourceBytes: bytes, slowestResourceMillis: Math.round(slowest)"
+            + "};";
+
+    private static final ThreadLocal<List<Map<String, Object>>> tlSamples = ThreadLocal.withInitial(ArrayList::new);
+
+    private PagePerformance() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Start point of a measured action.
+     */
+    public static final class Mark {
+        private final long startNanos;
+        private final double browserStartMillis;
+
+        private Mark(long startNanos, double browserStartMillis) {
+            this.startNanos = startNanos;
+            this.browserStartMillis = browserStartMillis;
+        }
+    }
+
+    /**
+     * @return The start point of the action about to run, or null when capture is disabled or the page has no script access
+     */
+    public static Mark mark(WebDriver driver) {
+        if (!ENABLED) {
+            return null;
+        }
+        try {
+            Number browserNow = (Number) ((JavascriptExecutor) driver).executeScript(MARK_SCRIPT);
+            return new Mark(System.nanoTime(), browserNow.doubleValue());
+        } catch (RuntimeException e) {
+            log.debug("Page performance mark failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Captures a sample for an action that has finished rendering. Does nothing for a null mark.
+     */
+    @SuppressWarnings("unchecked")
+    public static void record(WebDriver driver, String label, Mark mark) {
+        if (mark == null) {
+            return;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mark.startNanos);
+        Map<String, Object> sample = new LinkedHashMap<>();
+        sample.put("label", label);
+        sample.put("elapsedMillis", elapsedMillis);
+        try {
+            sample.putAll((Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT, mark.browserStartMillis));
+        } catch (RuntimeException e) {
+            log.debug("Timing capture failed for {}: {}", label, e.getMessage());
+        }
+        if (driver instanceof HasCdp) {
+            sample.put("devTools", devToolsMetrics((HasCdp) driver));
+        }
+        tlSamples.get().add(sample);
+        log.info("{} rendered in {} ms", label, elapsedMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> devToolsMetrics(HasCdp cdp) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        try {
+            cdp.executeCdpCommand("Performance.enable", Collections.emptyMap());
+            List<Map<String, Object>> all = (List<Map<String, Object>>) cdp.executeCdpCommand("Performance.getMetrics", Collections.emptyMap()).get("metrics");
+            for (Map<String, Object> metric : all) {
+                if (CDP_METRICS.contains(metric.get("name"))) {
+                    metrics.put((String) metric.get("name"), metric.get("value"));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.debug("DevTools performance metrics unavailable: {}", e.getMessage());
+        }
+        return metrics;
+    }
+
+    /**
+     * @return Number of samples recorded for a label in the current scenario
+     */
+    public static int sampleCount(String label) {
+        return elapsedMillis(label).size();
+    }
+
+    /**
+     * @return Nearest-rank percentile of the elapsed times recorded for a label in the current scenario, or -1 if there are none
+     */
+    public static long percentile(String label, double percentile) {
+        List<Long> sorted = elapsedMillis(label);
+        if (sorted.isEmpty()) {
+            return -1;
+        }
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1);
+    }
+
+    private static List<Long> elapsedMillis(String label) {
+        List<Long> elapsed = new ArrayList<>();
+        for (Map<String, Object> sample : tlSamples.get()) {
+            if (label.equals(sample.get("label"))) {
+                elapsed.add((Long) sample.get("elapsedMillis"));
+            }
+        }
+        return elapsed;
+    }
+
+    /**
+     * Returns the current thread's samples for a scenario as JSON and clears them.
+     * @return JSON array, or null if nothing was captured
+     */
+    public static String report(String scenarioName) {
+        List<Map<String, Object>> samples = tlSamples.get();
+        if (samples.isEmpty()) {
+            return null;
+        }
+        String json = new Gson().toJson(samples);
+        log.debug("Scenario '{}' page performance: {}", scenarioName, json);
+        samples.clear();
+        return json;
+    }
+}
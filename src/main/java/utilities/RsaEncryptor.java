@@ -0,0 +1,91 @@
+package utilities;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Cipher;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * RSA encryption with parsed public keys and initialized ciphers reused across calls.
+ * Keys are parsed once and cached by the SHA-256 fingerprint of their encoded form. Each thread keeps one
+ * encrypt-mode {@link Cipher} per key, since Cipher instances are not thread-safe but can be reused after doFinal.
+ */
+public final class RsaEncryptor {
+
+    private static final Logger log = LogManager.getLogger(RsaEncryptor.class);
+    private static final String ALGORITHM = "RSA";
+
+    // Encoded key string -> fingerprint, so repeated calls skip decoding and hashing
+    private static final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private static final Map<String, PublicKey> keys = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, Cipher>> tlCiphers = ThreadLocal.withInitial(HashMap::new);
+
+    private RsaEncryptor() {
+    }
+
+    /**
+     * Encrypts a UTF-8 payload with a Base64, X.509-encoded public key.
+     * @return Base64-encoded cipher text
+     */
+    public static String encrypt(String publicKey, String text) throws GeneralSecurityException {
+        return encrypt(cipherFor(publicKey), text);
+    }
+
+    /**
+     * Encrypts many payloads with the same key, e.g. when seeding login payloads.
+     * @return Base64-encoded cipher texts in the order of {@code texts}
+     */
+    public static List<String> encryptAll(String publicKey, List<String> texts) throws GeneralSecurityException {
+        Cipher cipher = cipherFor(publicKey);
+        List<String> encrypted = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            encrypted.add(encrypt(cipher, text));
+        }
+        return encrypted;
+    }
+
+    private static String encrypt(Cipher cipher, String text) throws GeneralSecurityException {
+        byte[] bytes = cipher.doFinal(text.getBytes(StandardCharsets.UTF_8));
+        return new String(Base64.encodeBase64(bytes), StandardCharsets.UTF_8);
+    }
+
+    private static Cipher cipherFor(String publicKey) throws GeneralSecurityException {
+        String fingerprint = fingerprints.get(publicKey);
+        if (fingerprint == null) {
+            fingerprint = register(publicKey);
+        }
+        Map<String, Cipher> ciphers = tlCiphers.get();
+        Cipher cipher = ciphers.get(fingerprint);
+        if (cipher == null) {
+            cipher = Cipher.getInstance(ALGORITHM);
+            cipher.init(Cipher.ENCRYPT_MODE, keys.get(fingerprint));
+            ciphers.put(fingerprint, cipher);
+        }
+        return cipher;
+    }
+
+    private static String register(String publicKey) throws GeneralSecurityException {
+        byte[] encoded = Base64.decodeBase64(publicKey);
+        String fingerprint = Hex.encodeHexString(MessageDigest.getInstance("SHA-256").digest(encoded));
+        if (!keys.containsKey(fingerprint)) {
+            keys.put(fingerprint, KeyFactory.getInstance(ALGORITHM).generatePublic(new X509EncodedKeySpec(encoded)));
+            log.debug("Cached RSA public key {}", fingerprint.substring(0, 16));
+        }
+        fingerprints.put(publicKey, fingerprint);
+        return fingerprint;
+    }
+}
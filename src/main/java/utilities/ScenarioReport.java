@@ -0,0 +1,39 @@
+package utilities;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+
+/**
+ * A scenario's node in the verbose Extent report.
+ * Entries are queued and applied by the thread that writes the report (see {@link ExtentManager#flush()}), so they are
+ * safe to log from parallel scenarios while a background flush is running.
+ */
+public final class ScenarioReport {
+
+    private final ExtentTest test;
+
+    ScenarioReport(ExtentTest test) {
+        this.test = test;
+    }
+
+    public ScenarioReport info(String details) {
+        return log(Status.INFO, details);
+    }
+
+    public ScenarioReport pass(String details) {
+        return log(Status.PASS, details);
+    }
+
+    public ScenarioReport fail(String details) {
+        return log(Status.FAIL, details);
+    }
+
+    public ScenarioReport warning(String details) {
+        return log(Status.WARNING, details);
+    }
+
+    private ScenarioReport log(Status status, String details) {
+        ExtentManager.enqueue(test, status, details);
+        return this;
+    }
+}
@@ -0,0 +1,140 @@
+package utilities;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.firefox.HasFullPageScreenshot;
+
+/**
+ * Captures failure screenshots with a single browser call and moves all file work off the test thread.
+ * Chromium sessions use the DevTools Page.captureScreenshot command for a full-page PNG; Firefox uses its native
+ * full-page capture; other browsers fall back to a viewport screenshot. Writing the PNG and its JPEG thumbnail runs on a
+ * small bounded executor that is drained when the JVM shuts down.
+ */
+public class ScreenshotPipeline {
+
+    private static final Logger log = LogManager.getLogger(ScreenshotPipeline.class);
+    private static final int THUMBNAIL_WIDTH = 320;
+    private static final int QUEUE_CAPACITY = 16;
+    private static final long DRAIN_TIMEOUT_SECONDS = 30;
+
+    private static final ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 2, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ScreenshotPipeline::drain, "screenshot-drain"));
+    }
+
+    private ScreenshotPipeline() {
+    }
+
+    /**
+     * Takes one full-page PNG screenshot of the current page.
+     * @return Raw PNG bytes
+     */
+    public static byte[] capture(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            try {
+                return captureWithDevTools((HasCdp) driver);
+            } catch (RuntimeException e) {
+                log.warn("DevTools full-page capture failed, falling back to viewport screenshot: {}", e.getMessage());
+            }
+        } else if (driver instanceof HasFullPageScreenshot) {
+            return ((HasFullPageScreenshot) driver).getFullPageScreenshotAs(OutputType.BYTES);
+        }
+        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+    }
+
+    /**
+     * Queues the PNG and a JPEG thumbnail to be written next to it. Returns immediately unless the queue is full,
+     * in which case the caller writes the file itself.
+     * @param png    PNG bytes from {@link #capture(WebDriver)}
+     * @param target Destination PNG file; the thumbnail is written as {@code <name>-thumb.jpg}
+     */
+    public static void persist(byte[] png, File target) {
+        writer.execute(() -> {
+            try {
+                Files.createDirectories(target.getAbsoluteFile().getParentFile().toPath());
+                Files.write(target.toPath(), png);
+                writeThumbnail(png, new File(target.getParentFile(), target.getName().replaceFirst("\\.png$", "") + "-thumb.jpg"));
+                log.info("Screenshot saved: {}", target.getAbsolutePath());
+            } catch (IOException e) {
+                log.error("Failed to save screenshot {}: {}", target.getName(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Waits for queued screenshots to be written and stops the writer threads.
+     */
+    public static void drain() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Screenshot writer did not finish within {}s", DRAIN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] captureWithDevTools(HasCdp cdp) {
+        Map<String, Object> metrics = cdp.executeCdpCommand("Page.getLayoutMetrics", new HashMap<>());
+        Map<String, Object> contentSize = (Map<String, Object>) metrics.get("cssContentSize");
+
+        Map<String, Object> clip = new HashMap<>();
+        clip.put("x", 0);
+        clip.put("y", 0);
+        clip.put("width", ((Number) contentSize.get("width")).doubleValue());
+        clip.put("height", ((Number) contentSize.get("height")).doubleValue());
+        clip.put("scale", 1);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", "png");
+        params.put("captureBeyondViewport", true);
+        params.put("clip", clip);
+        Map<String, Object> result = cdp.executeCdpCommand("Page.captureScreenshot", params);
+        return Base64.getDecoder().decode((String) result.get("data"));
+    }
+
+    private static void writeThumbnail(byte[] png, File target) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            return;
+        }
+        int width = Math.min(THUMBNAIL_WIDTH, source.getWidth());
+        int height = Math.max(1, source.getHeight() * width / source.getWidth());
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+        ImageIO.write(thumbnail, "jpg", target);
+    }
+}
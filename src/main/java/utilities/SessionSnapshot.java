@@ -0,0 +1,210 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import com.google.gson.Gson;
+
+/**
+ * Captures the authenticated browser state (cookies, localStorage, sessionStorage and landing URL) after a
+ * successful UI login and injects it into later sessions, so scenarios can skip the login form.
+ * Snapshots are kept in memory and under target/session-state, keyed by environment and user.
+ * A snapshot older than the configured TTL, or holding an expired cookie, is discarded so callers fall back to a real login.
+ */
+public class SessionSnapshot {
+
+    private static final Logger log = LogManager.getLogger(SessionSnapshot.class);
+    private static final Path SNAPSHOT_DIR = Paths.get("target", "session-state");
+    private static final Gson gson = new Gson();
+    private static final Map<String, State> snapshots = new ConcurrentHashMap<>();
+
+    private static final String READ_STORAGE_SCRIPT =
+            "var read = function(s) { var out = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i); out[k] = s.getItem(k); } return out; };"
+                    + "return [read(window.localStorage), read(window.sessionStorage)];";
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var write = function(s, items) { Object.keys(items).forEach(function(k) { s.setItem(k, items[k]); }); };"
+                    + "write(window.localStorage, arguments[0]); write(window.sessionStorage, arguments[1]);";
+
+    private SessionSnapshot() {
+    }
+
+    /**
+     * Records the current session state for the given environment and user.
+     * Call only once the application has finished logging in.
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, String environment, String user) {
+        try {
+            State state = new State();
+            state.capturedAt = System.currentTimeMillis();
+            state.landingUrl = driver.getCurrentUrl();
+            for (Cookie cookie : driver.manage().getCookies()) {
+                state.cookies.add(StoredCookie.from(cookie));
+            }
+            List<Map<String, String>> storage = (List<Map<String, String>>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+            state.localStorage = new HashMap<>(storage.get(0));
+            state.sessionStorage = new HashMap<>(storage.get(1));
+
+            String key = key(environment, user);
+            snapshots.put(key, state);
+            Files.createDirectories(SNAPSHOT_DIR);
+            try (Writer writer = Files.newBufferedWriter(fileFor(key), StandardCharsets.UTF_8)) {
+                gson.toJson(state, writer);
+            }
+            log.info("Captured session snapshot for [{}]: {} cookie(s), {} localStorage and {} sessionStorage item(s)",
+                    key, state.cookies.size(), state.localStorage.size(), state.sessionStorage.size());
+        } catch (Exception e) {
+            log.warn("Failed to capture session snapshot for [{}]: {}", user, e.getMessage());
+        }
+    }
+
+    /**
+     * Injects a stored session into the driver and opens the URL that was current at capture time.
+     * @return true if a valid snapshot was applied; the caller should still verify the application accepted it
+     */
+    public static boolean restore(WebDriver driver, String environment, String user, Duration ttl) {
+        String key = key(environment, user);
+        State state = load(key);
+        if (state == null) {
+            log.debug("No session snapshot for [{}]", key);
+            return false;
+        }
+        if (isExpired(state, ttl)) {
+            log.info("Session snapshot for [{}] has expired. Falling back to UI login", key);
+            invalidate(environment, user);
+            return false;
+        }
+
+        try {
+            CachingElementLocatorFactory.invalidateAll();
+            URI landing = URI.create(state.landingUrl);
+            // Seed state on a lightweight same-origin URL so the app boots only once, with the state already present
+            driver.navigate().to(landing.getScheme() + "://" + landing.getAuthority() + "/favicon.ico");
+            for (StoredCookie cookie : state.cookies) {
+                try {
+                    driver.manage().addCookie(cookie.toCookie());
+                } catch (Exception e) {
+                    log.debug("Skipping cookie '{}' for domain {}: {}", cookie.name, cookie.domain, e.getMessage());
+                }
+            }
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, state.localStorage, state.sessionStorage);
+            driver.navigate().to(state.landingUrl);
+            log.info("Restored session snapshot for [{}] at {}", key, state.landingUrl);
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to restore session snapshot for [{}]: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Discards a snapshot, e.g. when the application rejected it.
+     */
+    public static void invalidate(String environment, String user) {
+        String key = key(environment, user);
+        snapshots.remove(key);
+        try {
+            Files.deleteIfExists(fileFor(key));
+        } catch (IOException e) {
+            log.warn("Failed to delete session snapshot file for [{}]: {}", key, e.getMessage());
+        }
+    }
+
+    private static State load(String key) {
+        return snapshots.computeIfAbsent(key, k -> {
+            Path file = fileFor(k);
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                return gson.fromJson(reader, State.class);
+            } catch (Exception e) {
+                log.warn("Ignoring unreadable session snapshot {}: {}", file, e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    private static boolean isExpired(State state, Duration ttl) {
+        long now = System.currentTimeMillis();
+        if (now - state.capturedAt > ttl.toMillis()) {
+            return true;
+        }
+        for (StoredCookie cookie : state.cookies) {
+            if (cookie.expiry != null && cookie.expiry < now) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(String environment, String user) {
+        return (environment + "-" + user).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static Path fileFor(String key) {
+        return SNAPSHOT_DIR.resolve(key + ".json");
+    }
+
+    private static final class State {
+        private long capturedAt;
+        private String landingUrl;
+        private List<StoredCookie> cookies = new ArrayList<>();
+        private Map<String, String> localStorage = new HashMap<>();
+        private Map<String, String> sessionStorage = new HashMap<>();
+    }
+
+    private static final class StoredCookie {
+        private String name;
+        private String value;
+        private String domain;
+        private String path;
+        private Long expiry;
+        private boolean secure;
+        private boolean httpOnly;
+        private String sameSite;
+
+        private static StoredCookie from(Cookie cookie) {
+            StoredCookie stored = new StoredCookie();
+            stored.name = cookie.getName();
+            stored.value = cookie.getValue();
+            stored.domain = cookie.getDomain();
+            stored.path = cookie.getPath();
+            stored.expiry = cookie.getExpiry() != null ? cookie.getExpiry().getTime() : null;
+            stored.secure = cookie.isSecure();
+            stored.httpOnly = cookie.isHttpOnly();
+            stored.sameSite = cookie.getSameSite();
+            return stored;
+        }
+
+        private Cookie toCookie() {
+            return new Cookie.Builder(name, value)
+                    .domain(domain)
+                    .path(path)
+                    .expiresOn(expiry != null ? new Date(expiry) : null)
+                    .isSecure(secure)
+                    .isHttpOnly(httpOnly)
+                    .sameSite(sameSite)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jopendocument.dom.spreadsheet.SpreadSheet;
+
+/**
+ * Process-wide cache of parsed ODS workbooks, keyed by canonical path, size and last-modified time.
+ * A changed file therefore gets a new key and is parsed again; writers also call {@link #invalidate(File)} because
+ * file-system timestamps can be too coarse to notice a quick rewrite. Each key is loaded once through a shared future,
+ * so concurrent readers of the same workbook wait for one parse instead of each parsing it. The least recently used
+ * workbook is evicted beyond {@value #MAX_WORKBOOKS} entries.
+ */
+final class SpreadsheetCache {
+
+    private static final Logger log = LogManager.getLogger(SpreadsheetCache.class);
+    private static final int MAX_WORKBOOKS = 8;
+
+    private static final Map<Key, CompletableFuture<SpreadSheet>> workbooks = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<SpreadSheet>> eldest) {
+            return size() > MAX_WORKBOOKS;
+        }
+    };
+
+    private SpreadsheetCache() {
+    }
+
+    /**
+     * @return The parsed workbook, shared with other callers; read it while synchronized on the returned instance
+     */
+    static SpreadSheet get(File file) throws IOException {
+        Key key = Key.of(file);
+        CompletableFuture<SpreadSheet> future;
+        boolean loader = false;
+        synchronized (workbooks) {
+            future = workbooks.get(key);
+            if (future == null) {
+                // An older version of the same file can never be hit again
+                workbooks.keySet().removeIf(cached -> cached.path.equals(key.path));
+                future = new CompletableFuture<>();
+                workbooks.put(key, future);
+                loader = true;
+            }
+        }
+        if (loader) {
+            load(key, file, future);
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to parse " + file, e.getCause());
+        }
+    }
+
+    private static void load(Key key, File file, CompletableFuture<SpreadSheet> future) {
+        long start = System.nanoTime();
+        try {
+            future.complete(SpreadSheet.createFromFile(file));
+            log.debug("Parsed {} in {} ms", file.getName(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            synchronized (workbooks) {
+                workbooks.remove(key, future);
+            }
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Drops every cached version of a file, e.g. after it has been written.
+     */
+    static void invalidate(File file) {
+        String path = canonicalPath(file);
+        synchronized (workbooks) {
+            workbooks.keySet().removeIf(cached -> cached.path.equals(path));
+        }
+    }
+
+    private static String canonicalPath(File file) {
+        try {
+            return file.getCanonicalPath();
+        } catch (IOException e) {
+            return file.getAbsolutePath();
+        }
+    }
+
+    private static final class Key {
+        private final String path;
+        private final long size;
+        private final long lastModified;
+
+        private Key(String path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        private static Key of(File file) {
+            return new Key(canonicalPath(file), file.length(), file.lastModified());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return path.equals(other.path) && size == other.size && lastModified == other.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return (path.hashCode() * 31 + Long.hashCode(size)) * 31 + Long.hashCode(lastModified);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Reads a whole Angular Material result grid with one script execution.
+ * Works with both {@code <table mat-table>} and flex {@code <mat-table>} layouts. Rows come back keyed by header text;
+ * filters, column projection and the row limit are applied inside the browser, so only the rows needed cross the wire.
+ * <pre>
+ * List&lt;Map&lt;String, String&gt;&gt; rows = new TableReader(driver, By.cssSelector("table"))
+ *         .whereContains("ARN", arn)
+ *         .columns("ARN", "Amount")
+ *         .limit(10)
+ *         .read();
+ * </pre>
+ */
+public class TableReader {
+
+    private static final Logger log = LogManager.getLogger(TableReader.class);
+
+    private static final String TABLE_SCRIPT = DriverUtils.FIND_TARGET_SCRIPT
+            + "var table = find(arguments[0]), columns = arguments[1], filters = arguments[2], limit = arguments[3];"
+            + "if (!table) return null;"
+            + "var unique = function(nodes) { return Array.from(new Set(Array.from(nodes))); };"
+            + "var text = function(el) { return (el.innerText || el.textContent || '').trim(); };"
+            + "var headerCells = unique(table.querySelectorAll('th, mat-header-cell, [role=columnheader]'));"
+            + "var headers = [];"
+            + "headerCells.forEach(function(cell, i) {"
+            + "  var name = text(cell) || ('column' + (i + 1));"
+            + "  headers.push(headers.indexOf(name) < 0 ? name : name + '_' + (i + 1));"
+            + "});"
+            + "var rows = unique(table.querySelectorAll('tbody tr, mat-row, [role=row]')).filter(function(row) {"
+            + "  return !row.querySelector('th, mat-header-cell, [role=columnheader]')"
+            + "      && !/(^|\\s)mat-(mdc-)?no-data-row(\\s|$)/.test(row.className);"
+            + "});"
+            + "var matches = function(row) {"
+            + "  return filters.every(function(f) {"
+            + "    var values = f.column === null ? Object.keys(row).map(function(k) { return row[k]; }) : [row[f.column]];"
+            + "    return values.some(function(v) {"
+            + "      if (v === undefined || v === null) return false;"
+            + "      return f.op === 'equals' ? v === f.value : v.indexOf(f.value) >= 0;"
+            + "    });"
+            + "  });"
+            + "};"
+            + "var out = [];"
+            + "for (var r = 0; r < rows.length && (limit < 0 || out.length < limit); r++) {"
+            + "  var cells = unique(rows[r].querySelectorAll('td, mat-cell, [role=cell], [role=gridcell]'));"
+            + "  var row = {};"
+            + "  cells.forEach(function(cell, i) { row[i < headers.length ? headers[i] : 'column' + (i + 1)] = text(cell); });"
+            + "  if (!matches(row)) continue;"
+            + "  if (columns.length) {"
+            + "    var projected = {};"
+            + "    columns.forEach(function(c) { projected[c] = row[c] === undefined ? null : row[c]; });"
+            + "    row = projected;"
+            + "  }"
+            + "  out.push(row);"
+            + "}"
+            + "return out;";
+
+    private final WebDriver driver;
+    private final By table;
+    private final List<String> columns = new ArrayList<>();
+    private final List<Map<String, Object>> filters = new ArrayList<>();
+    private int limit = -1;
+
+    /**
+     * @param driver Session holding the page
+     * @param table  Locator of the table element (the first match is read)
+     */
+    public TableReader(WebDriver driver, By table) {
+        this.driver = driver;
+        this.table = table;
+    }
+
+    /**
+     * Restricts the returned rows to the given headers, in that order. Missing columns come back as null.
+     */
+    public TableReader columns(String... headers) {
+        columns.addAll(Arrays.asList(headers));
+        return this;
+    }
+
+    /**
+     * Returns at most {@code rows} matching rows.
+     */
+    public TableReader limit(int rows) {
+        this.limit = rows;
+        return this;
+    }
+
+    /**
+     * Keeps rows whose cell in {@code column} contains {@code value}. A null column matches any cell in the row.
+     */
+    public TableReader whereContains(String column, String value) {
+        return where(column, "contains", value);
+    }
+
+    /**
+     * Keeps rows whose cell in {@code column} equals {@code value} after trimming. A null column matches any cell in the row.
+     */
+    public TableReader whereEquals(String column, String value) {
+        return where(column, "equals", value.trim());
+    }
+
+    /**
+     * Reads the matching rows in one script execution.
+     * @return Rows keyed by header text; empty if the table is missing or nothing matches
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, String>> read() {
+        long start = System.currentTimeMillis();
+        List<Map<String, String>> rows = (List<Map<String, String>>) ((JavascriptExecutor) driver).executeScript(TABLE_SCRIPT,
+                DriverUtils.toScriptTarget(table), columns, filters, limit);
+        if (rows == null) {
+            log.debug("Table {} not found", table);
+            return new ArrayList<>();
+        }
+        log.debug("Read {} row(s) from {} in {} ms", rows.size(), table, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    /**
+     * @return true if at least one row matches the configured filters
+     */
+    public boolean hasMatch() {
+        int previousLimit = limit;
+        limit = 1;
+        try {
+            return !read().isEmpty();
+        } finally {
+            limit = previousLimit;
+        }
+    }
+
+    private TableReader where(String column, String op, String value) {
+        Map<String, Object> filter = new HashMap<>();
+        filter.put("column", column);
+        filter.put("op", op);
+        filter.put("value", value);
+        filters.add(filter);
+        return this;
+    }
+}
@@ -0,0 +1,125 @@
+package utilities;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.javafaker.Faker;
+
+/**
+ * Thread-safe source of unique test data (first names, company names, phone numbers).
+ * Each thread keeps its own Faker. Uniqueness is tracked per kind in a concurrent set that forgets its oldest entries
+ * beyond {@value #MAX_TRACKED_VALUES} values, so memory stays bounded on long runs. A daemon thread per kind keeps a small
+ * queue of pre-generated values topped up, so steps normally just take one; if the queue is empty the value is generated
+ * on the caller's thread.
+ */
+public final class TestDataGenerator {
+
+    private static final Logger log = LogManager.getLogger(TestDataGenerator.class);
+    private static final int MAX_TRACKED_VALUES = 50_000;
+    private static final int QUEUE_CAPACITY = 32;
+    private static final int MAX_ATTEMPTS = 1_000;
+
+    private static final ThreadLocal<Faker> tlFaker = ThreadLocal.withInitial(Faker::new);
+    private static final ThreadLocal<char[]> tlPhoneDigits = ThreadLocal.withInitial(() -> new char[10]);
+
+    private static final Map<Kind, Pool> pools = new ConcurrentHashMap<>();
+
+    private TestDataGenerator() {
+    }
+
+    public enum Kind {
+        FIRST_NAME(() -> tlFaker.get().name().firstName()),
+        COMPANY_NAME(() -> tlFaker.get().company().name()),
+        PHONE_NUMBER(TestDataGenerator::randomPhoneNumber);
+
+        private final Supplier<String> generator;
+
+        Kind(Supplier<String> generator) {
+            this.generator = generator;
+        }
+    }
+
+    /**
+     * @return A value of the given kind not handed out recently in this JVM
+     */
+    public static String next(Kind kind) {
+        Pool pool = pools.computeIfAbsent(kind, Pool::new);
+        String value = pool.ready.poll();
+        return value != null ? value : pool.generateUnique();
+    }
+
+    /**
+     * 10-digit mobile number starting with 6-9, built in a reused per-thread buffer.
+     */
+    private static String randomPhoneNumber() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] digits = tlPhoneDigits.get();
+        digits[0] = (char) ('6' + random.nextInt(4));
+        for (int i = 1; i < digits.length; i++) {
+            digits[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(digits);
+    }
+
+    private static final class Pool {
+        private static final AtomicInteger threadCount = new AtomicInteger();
+
+        private final Kind kind;
+        private final Set<String> issued = ConcurrentHashMap.newKeySet();
+        private final Queue<String> issueOrder = new ConcurrentLinkedQueue<>();
+        // ConcurrentLinkedQueue.size() walks the whole queue
+        private final AtomicInteger trackedCount = new AtomicInteger();
+        private final BlockingQueue<String> ready = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+        private Pool(Kind kind) {
+            this.kind = kind;
+            Thread refill = new Thread(this::refill, "test-data-" + kind.name().toLowerCase() + "-" + threadCount.incrementAndGet());
+            refill.setDaemon(true);
+            refill.start();
+        }
+
+        private String generateUnique() {
+            String value = kind.generator.get();
+            int attempts = 1;
+            while (!issued.add(value)) {
+                if (++attempts > MAX_ATTEMPTS) {
+                    throw new IllegalStateException("No unused " + kind + " value after " + MAX_ATTEMPTS
+                            + " attempts; the generator's " + issued.size() + " distinct values appear to be exhausted");
+                }
+                value = kind.generator.get();
+            }
+            issueOrder.add(value);
+            if (trackedCount.incrementAndGet() > MAX_TRACKED_VALUES) {
+                String oldest = issueOrder.poll();
+                if (oldest != null) {
+                    issued.remove(oldest);
+                    trackedCount.decrementAndGet();
+                }
+            }
+            return value;
+        }
+
+        private void refill() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    ready.put(generateUnique());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Stopped pre-generating {} values: {}", kind, e.getMessage());
+            }
+        }
+    }
+}
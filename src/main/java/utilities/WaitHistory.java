@@ -0,0 +1,124 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Per-locator time-to-ready samples, kept across runs in a small JSON file.
+ * The file is read once per JVM. Samples recorded during the run are merged into it at shutdown under a file lock,
+ * so parallel JVMs do not overwrite each other. Only the most recent samples per locator are kept.
+ */
+final class WaitHistory {
+
+    private static final Logger log = LogManager.getLogger(WaitHistory.class);
+    private static final int MAX_SAMPLES = 100;
+    private static final Gson gson = new Gson();
+    private static final Type HISTORY_TYPE = new TypeToken<Map<String, List<Long>>>() { }.getType();
+
+    private final Path file;
+    private final Map<String, List<Long>> samples = new ConcurrentHashMap<>();
+    private final Map<String, List<Long>> recorded = new ConcurrentHashMap<>();
+
+    WaitHistory(String file) {
+        this.file = Paths.get(file);
+        load(this.file).forEach((key, values) -> samples.put(key, Collections.synchronizedList(new ArrayList<>(values))));
+        Runtime.getRuntime().addShutdownHook(new Thread(this::save, "wait-history-save"));
+    }
+
+    void record(String key, long millis) {
+        append(samples, key, millis);
+        append(recorded, key, millis);
+    }
+
+    /**
+     * @return The requested percentile of the key's samples, or -1 when fewer than {@code minSamples} exist
+     */
+    long percentile(String key, double percentile, int minSamples) {
+        List<Long> values = samples.get(key);
+        if (values == null) {
+            return -1;
+        }
+        List<Long> sorted;
+        synchronized (values) {
+            if (values.size() < minSamples) {
+                return -1;
+            }
+            sorted = new ArrayList<>(values);
+        }
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    private static void append(Map<String, List<Long>> target, String key, long millis) {
+        List<Long> values = target.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>()));
+        synchronized (values) {
+            values.add(millis);
+            if (values.size() > MAX_SAMPLES) {
+                values.remove(0);
+            }
+        }
+    }
+
+    private void save() {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                Map<String, List<Long>> history = new TreeMap<>(load(file));
+                recorded.forEach((key, values) -> {
+                    List<Long> merged = new ArrayList<>(history.getOrDefault(key, Collections.emptyList()));
+                    synchronized (values) {
+                        merged.addAll(values);
+                    }
+                    history.put(key, new ArrayList<>(merged.subList(Math.max(0, merged.size() - MAX_SAMPLES), merged.size())));
+                });
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    gson.toJson(history, HISTORY_TYPE, writer);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not update wait history {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Map<String, List<Long>> load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyMap();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Map<String, List<Long>> history = gson.fromJson(reader, HISTORY_TYPE);
+            return history != null ? history : Collections.emptyMap();
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable wait history {}: {}", file, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package plugins;
+
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.aventstack.extentreports.service.ExtentService;
+
+import DriverFactory.DriverBinaryResolver;
+import DriverFactory.DriverSessionPool;
+import DriverFactory.WebDriverFactory;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestRunFinished;
+import utilities.ConfigReader;
+
+/**
+ * Cucumber plugin that pre-warms the browser session pool.
+ * Cucumber creates plugins before it loads glue and runs the first scenario, so browsers start on
+ * background threads while the run is still being set up. At the end of the run the launch time
+ * saved by the pool and the driver binary resolution time are written to the Extent report's system info.
+ * Must be registered before the Extent adapter so the summary is present when the adapter flushes.
+ */
+public class BrowserWarmupPlugin implements ConcurrentEventListener {
+
+    private static final Logger log = LogManager.getLogger(BrowserWarmupPlugin.class);
+
+    public BrowserWarmupPlugin() {
+        ConfigReader configReader = new ConfigReader();
+        int warmup = configReader.getDriverPoolWarmup();
+        String browser = configReader.getBrowserConfiguration();
+        if (warmup > 0 && browser != null) {
+            new WebDriverFactory().prewarmSessions(browser, warmup);
+        }
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunFinished.class, event -> reportSavings());
+    }
+
+    private void reportSavings() {
+        String summary = String.format("%d ms saved over %d pooled lease(s), %d browser(s) launched",
+                DriverSessionPool.getSavedMillis(),
+                DriverSessionPool.getPooledLeaseCount(),
+                DriverSessionPool.getLaunchedSessionCount());
+        log.info("Browser session pool: {}", summary);
+        Map<String, Long> resolution = DriverBinaryResolver.getResolutionMillis();
+        try {
+            ExtentService.getInstance().setSystemInfo("Browser Pool", summary);
+            if (!resolution.isEmpty()) {
+                ExtentService.getInstance().setSystemInfo("Driver Resolution (ms)", resolution.toString());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not add browser pool summary to report: {}", e.getMessage());
+        }
+    }
+}
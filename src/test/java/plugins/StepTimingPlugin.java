@@ -0,0 +1,127 @@
+package plugins;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.gson.GsonBuilder;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import sharding.ShardPlanner;
+import utilities.CommandMetrics;
+
+/**
+ * Cucumber plugin that records the duration of every step and hook into a histogram per step pattern
+ * (Background steps included) or hook method. At the end of the run it writes target/step-timings-&lt;shard&gt;.json and
+ * .csv with count, total, p50, p90, p99 and max per key, slowest total first.
+ * When WebDriver command metrics are enabled it also tells {@link CommandMetrics} which step is running and writes
+ * the per-step command table.
+ */
+public class StepTimingPlugin implements ConcurrentEventListener {
+
+    private static final Logger log = LogManager.getLogger(StepTimingPlugin.class);
+    private static final Path REPORT_DIR = Paths.get("target");
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::recordStep);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> writeReport());
+        if (CommandMetrics.isEnabled()) {
+            // Step events are published on the thread running the scenario, so commands can be attributed to the step
+            publisher.registerHandlerFor(TestStepStarted.class, event -> CommandMetrics.stepStarted(keyOf(event.getTestStep())));
+            publisher.registerHandlerFor(TestRunFinished.class, event -> CommandMetrics.writeReport(REPORT_DIR, "webdriver-commands-" + ShardPlanner.shardIndex()));
+        }
+    }
+
+    private void recordStep(TestStepFinished event) {
+        CommandMetrics.stepStarted(null);
+        long micros = Math.min(event.getResult().getDuration().toNanos() / 1000, HIGHEST_TRACKABLE_MICROS);
+        histograms.computeIfAbsent(keyOf(event.getTestStep()), key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS))
+                .recordValue(micros);
+    }
+
+    private static String keyOf(TestStep step) {
+        if (step instanceof PickleStepTestStep) {
+            return "Step: " + ((PickleStepTestStep) step).getPattern();
+        }
+        if (step instanceof HookTestStep) {
+            return "Hook " + ((HookTestStep) step).getHookType() + ": " + step.getCodeLocation();
+        }
+        return step.getCodeLocation();
+    }
+
+    private void writeReport() {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        histograms.forEach((key, histogram) -> rows.add(row(key, histogram)));
+        rows.sort(Comparator.comparingDouble((Map<String, Object> row) -> (Double) row.get("totalMillis")).reversed());
+
+        // Shard JVMs may share the workspace, so each writes its own report like ScenarioDurationPlugin
+        String baseName = "step-timings-" + ShardPlanner.shardIndex();
+        Path jsonFile = REPORT_DIR.resolve(baseName + ".json");
+        try {
+            Files.createDirectories(REPORT_DIR);
+            try (Writer writer = Files.newBufferedWriter(jsonFile, StandardCharsets.UTF_8)) {
+                new GsonBuilder().setPrettyPrinting().create().toJson(rows, writer);
+            }
+            try (Writer writer = Files.newBufferedWriter(REPORT_DIR.resolve(baseName + ".csv"), StandardCharsets.UTF_8)) {
+                writer.write(String.format("step,count,totalMillis,p50Millis,p90Millis,p99Millis,maxMillis%n"));
+                for (Map<String, Object> row : rows) {
+                    writer.write(String.format("\"%s\",%d,%.1f,%.1f,%.1f,%.1f,%.1f%n",
+                            ((String) row.get("step")).replace("\"", "\"\""), row.get("count"), row.get("totalMillis"),
+                            row.get("p50Millis"), row.get("p90Millis"), row.get("p99Millis"), row.get("maxMillis")));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not write step timing report: {}", e.getMessage());
+            return;
+        }
+        Map<String, Object> slowest = rows.get(0);
+        log.info("Step timings for {} step(s)/hook(s) written to {}; slowest in total: {} ({} ms over {} call(s))",
+                rows.size(), jsonFile, slowest.get("step"), slowest.get("totalMillis"), slowest.get("count"));
+    }
+
+    private static Map<String, Object> row(String key, Histogram histogram) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("step", key);
+        row.put("count", histogram.getTotalCount());
+        row.put("totalMillis", millis(histogram.getMean() * histogram.getTotalCount()));
+        row.put("p50Millis", millis(histogram.getValueAtPercentile(50)));
+        row.put("p90Millis", millis(histogram.getValueAtPercentile(90)));
+        row.put("p99Millis", millis(histogram.getValueAtPercentile(99)));
+        row.put("maxMillis", millis(histogram.getMaxValue()));
+        return row;
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros / 100.0) / 10.0;
+    }
+}
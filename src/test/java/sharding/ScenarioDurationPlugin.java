@@ -0,0 +1,81 @@
+package sharding;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.gson.GsonBuilder;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+
+/**
+ * Cucumber plugin that records how long every scenario took and feeds it back into the shard planner's history.
+ * At the end of the run it writes target/shard-report-&lt;index&gt;.json comparing this shard's predicted and actual time.
+ */
+public class ScenarioDurationPlugin implements ConcurrentEventListener {
+
+    private static final Logger log = LogManager.getLogger(ScenarioDurationPlugin.class);
+    private static final Path REPORT_DIR = Paths.get("target");
+
+    private final Map<String, Long> actualMillis = new ConcurrentHashMap<>();
+    private volatile Instant runStarted;
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> runStarted = event.getInstant());
+        publisher.registerHandlerFor(TestCaseFinished.class, this::recordScenario);
+        publisher.registerHandlerFor(TestRunFinished.class, this::finishRun);
+    }
+
+    private void recordScenario(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        String key = ShardPlanner.key(testCase.getUri().getSchemeSpecificPart(), testCase.getLocation().getLine());
+        actualMillis.put(key, event.getResult().getDuration().toMillis());
+    }
+
+    private void finishRun(TestRunFinished event) {
+        ShardPlanner.mergeHistory(actualMillis);
+
+        int shard = ShardPlanner.shardIndex();
+        ShardPlanner.Plan plan = ShardPlanner.currentPlan();
+        long scenarioMillis = actualMillis.values().stream().mapToLong(Long::longValue).sum();
+        long wallMillis = runStarted != null ? Duration.between(runStarted, event.getInstant()).toMillis() : scenarioMillis;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("shard", shard);
+        report.put("shardCount", ShardPlanner.shardCount());
+        report.put("scenarios", actualMillis.size());
+        report.put("predictedMillis", plan != null ? plan.predictedMillis(shard) : null);
+        report.put("allShardsPredictedMillis", plan != null ? plan.predictedMillis() : null);
+        report.put("actualScenarioMillis", scenarioMillis);
+        report.put("actualWallClockMillis", wallMillis);
+
+        Path file = REPORT_DIR.resolve("shard-report-" + shard + ".json");
+        try {
+            Files.createDirectories(REPORT_DIR);
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                new GsonBuilder().setPrettyPrinting().create().toJson(report, writer);
+            }
+        } catch (IOException e) {
+            log.warn("Could not write shard report {}: {}", file, e.getMessage());
+        }
+        log.info("Shard {}/{}: predicted {} ms, actual {} ms of scenarios ({} ms wall clock)",
+                shard, ShardPlanner.shardCount(), report.get("predictedMillis"), scenarioMillis, wallMillis);
+    }
+}
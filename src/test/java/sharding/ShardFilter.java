@@ -0,0 +1,79 @@
+package sharding;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.engine.support.descriptor.FilePosition;
+import org.junit.platform.engine.support.descriptor.FileSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+/**
+ * JUnit Platform filter that keeps only the scenarios planned for this JVM's shard.
+ * Registered through META-INF/services, so it applies to ParallelRunnerUI whenever "-Dshard.count" is greater than 1.
+ * The first call plans every discovered scenario at once; later calls look up that plan.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+
+    private ShardPlanner.Plan plan;
+
+    @Override
+    public synchronized FilterResult apply(TestDescriptor descriptor) {
+        if (ShardPlanner.shardCount() <= 1 || !descriptor.isTest()) {
+            return FilterResult.included("sharding disabled or not a scenario");
+        }
+        String key = keyOf(descriptor);
+        if (key == null) {
+            return FilterResult.included("no feature location");
+        }
+        if (plan == null) {
+            plan = ShardPlanner.plan(collectScenarios(root(descriptor)).keySet());
+        }
+        int shard = ShardPlanner.shardIndex();
+        return plan.includes(key, shard)
+                ? FilterResult.included("planned for shard " + shard)
+                : FilterResult.excluded("planned for another shard");
+    }
+
+    private static TestDescriptor root(TestDescriptor descriptor) {
+        TestDescriptor current = descriptor;
+        while (current.getParent().isPresent()) {
+            current = current.getParent().get();
+        }
+        return current;
+    }
+
+    private static Map<String, TestDescriptor> collectScenarios(TestDescriptor root) {
+        Map<String, TestDescriptor> scenarios = new LinkedHashMap<>();
+        for (TestDescriptor descendant : root.getDescendants()) {
+            String key = descendant.isTest() ? keyOf(descendant) : null;
+            if (key != null) {
+                scenarios.put(key, descendant);
+            }
+        }
+        return scenarios;
+    }
+
+    private static String keyOf(TestDescriptor descriptor) {
+        Optional<TestSource> source = descriptor.getSource();
+        if (!source.isPresent()) {
+            return null;
+        }
+        if (source.get() instanceof ClasspathResourceSource) {
+            ClasspathResourceSource resource = (ClasspathResourceSource) source.get();
+            return resource.getPosition()
+                    .map(position -> ShardPlanner.key(resource.getClasspathResourceName(), position.getLine()))
+                    .orElse(null);
+        }
+        if (source.get() instanceof FileSource) {
+            FileSource file = (FileSource) source.get();
+            Optional<FilePosition> position = file.getPosition();
+            return position.map(p -> ShardPlanner.key(file.getFile().getPath(), p.getLine())).orElse(null);
+        }
+        return null;
+    }
+}
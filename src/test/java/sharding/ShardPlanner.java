@@ -0,0 +1,252 @@
+package sharding;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Splits scenarios into balanced shards using their recorded durations.
+ * Scenarios are keyed as {@code <classpath-relative feature path>:<line>}, so each Scenario Outline example row is
+ * planned on its own. The plan uses greedy longest-processing-time: scenarios are taken longest first and each goes to
+ * the least loaded shard. Scenarios without history are predicted at the median of the known durations.
+ * <p>
+ * Every shard plans from the same read-only history ("shard.history", committed with the sources), so all shards of a
+ * checkout agree on the split. Finished runs write their durations to "shard.recorded" under target/; running
+ * {@code ShardPlanner promote} (e.g. as a CI step after a full run) copies them over the history.
+ */
+public final class ShardPlanner {
+
+    private static final Logger log = LogManager.getLogger(ShardPlanner.class);
+    private static final Gson gson = new Gson();
+
+    public static final String SHARD_INDEX_PROPERTY = "shard.index";
+    public static final String SHARD_COUNT_PROPERTY = "shard.count";
+    public static final String HISTORY_PROPERTY = "shard.history";
+    public static final String RECORDED_PROPERTY = "shard.recorded";
+    private static final String DEFAULT_HISTORY = "testData/scenario-durations.json";
+    private static final String DEFAULT_RECORDED = "target/scenario-durations.json";
+    private static final String[] FEATURE_ROOTS = {"src/test/resources/", "target/test-classes/"};
+    private static final long DEFAULT_DURATION_MILLIS = 30_000;
+    private static final double SMOOTHING = 0.5;
+
+    private static volatile Plan currentPlan;
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * @return Zero-based shard this JVM runs, taken from the "shard.index" system property.
+     */
+    public static int shardIndex() {
+        return Integer.getInteger(SHARD_INDEX_PROPERTY, 0);
+    }
+
+    /**
+     * @return Number of shards, taken from the "shard.count" system property; 1 disables sharding.
+     */
+    public static int shardCount() {
+        return Math.max(1, Integer.getInteger(SHARD_COUNT_PROPERTY, 1));
+    }
+
+    /**
+     * @return The read-only duration history every shard plans from
+     */
+    public static Path historyFile() {
+        return Paths.get(System.getProperty(HISTORY_PROPERTY, DEFAULT_HISTORY));
+    }
+
+    /**
+     * @return The file finished runs record their durations in, to be promoted to {@link #historyFile()} separately
+     */
+    public static Path recordedFile() {
+        return Paths.get(System.getProperty(RECORDED_PROPERTY, DEFAULT_RECORDED));
+    }
+
+    /**
+     * Builds a key from a feature location so JUnit Platform and Cucumber events agree on scenario identity.
+     * Classpath resource names, file paths and Cucumber URIs all reduce to the classpath-relative path,
+     * e.g. {@code features/TransactionScreen.feature:27}.
+     */
+    public static String key(String featurePath, int line) {
+        String normalized = featurePath.replace('\\', '/');
+        if (normalized.startsWith("classpath:")) {
+            normalized = normalized.substring("classpath:".length());
+        }
+        for (String root : FEATURE_ROOTS) {
+            int index = normalized.lastIndexOf(root);
+            if (index >= 0) {
+                normalized = normalized.substring(index + root.length());
+                break;
+            }
+        }
+        while (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        return normalized + ":" + line;
+    }
+
+    /**
+     * Plans all scenarios into the configured number of shards and remembers the plan for reporting.
+     */
+    public static Plan plan(Collection<String> scenarioKeys) {
+        Map<String, Long> history = loadHistory();
+        long fallback = median(history.values());
+        int shards = shardCount();
+
+        List<String> ordered = new ArrayList<>(scenarioKeys);
+        ordered.sort(Comparator.<String>comparingLong(k -> history.getOrDefault(k, fallback)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        Plan plan = new Plan(shards);
+        PriorityQueue<Integer> byLoad = new PriorityQueue<>(
+                Comparator.<Integer>comparingLong(i -> plan.predictedMillis[i]).thenComparingInt(i -> i));
+        for (int i = 0; i < shards; i++) {
+            byLoad.add(i);
+        }
+        for (String key : ordered) {
+            int shard = byLoad.poll();
+            plan.assignments.put(key, shard);
+            plan.predictedMillis[shard] += history.getOrDefault(key, fallback);
+            byLoad.add(shard);
+        }
+        currentPlan = plan;
+        log.info("Planned {} scenario(s) into {} shard(s). Predicted shard times (ms): {}",
+                ordered.size(), shards, Arrays.toString(plan.predictedMillis));
+        return plan;
+    }
+
+    /**
+     * @return The plan built in this JVM, or null when scenarios were not filtered through the shard planner.
+     */
+    public static Plan currentPlan() {
+        return currentPlan;
+    }
+
+    public static Map<String, Long> loadHistory() {
+        return load(historyFile());
+    }
+
+    private static Map<String, Long> load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return new HashMap<>();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Map<String, Long> history = gson.fromJson(reader, new TypeToken<Map<String, Long>>() { }.getType());
+            return history != null ? history : new HashMap<>();
+        } catch (Exception e) {
+            log.warn("Could not read scenario duration history {}: {}", file, e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Folds this run's durations into the recorded file with exponential smoothing, starting from the history on the
+     * first run. The history itself is never written here, so shards started later still plan from the same input.
+     * An exclusive file lock keeps concurrent forks on the same machine from overwriting each other.
+     */
+    public static void mergeHistory(Map<String, Long> actualMillis) {
+        Path file = recordedFile();
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                Map<String, Long> history = new TreeMap<>(Files.isRegularFile(file) ? load(file) : loadHistory());
+                actualMillis.forEach((key, millis) -> history.merge(key, millis,
+                        (previous, latest) -> Math.round(previous * (1 - SMOOTHING) + latest * SMOOTHING)));
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    gson.toJson(history, writer);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not update recorded scenario durations {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the planning history with the recorded durations. Run it once all shards have finished.
+     */
+    public static void promoteHistory() throws IOException {
+        Path recorded = recordedFile();
+        if (!Files.isRegularFile(recorded)) {
+            log.warn("No recorded scenario durations at {}", recorded);
+            return;
+        }
+        Path history = historyFile();
+        if (history.getParent() != null) {
+            Files.createDirectories(history.getParent());
+        }
+        Files.copy(recorded, history, StandardCopyOption.REPLACE_EXISTING);
+        log.info("Promoted scenario durations {} to {}", recorded, history);
+    }
+
+    /**
+     * Command-line entry point: {@code promote} copies the recorded durations over the planning history.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 1 && "promote".equals(args[0])) {
+            promoteHistory();
+        } else {
+            log.error("Usage: ShardPlanner promote");
+        }
+    }
+
+    private static long median(Collection<Long> values) {
+        if (values.isEmpty()) {
+            return DEFAULT_DURATION_MILLIS;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * Shard assignment for every scenario plus the predicted run time of each shard.
+     */
+    public static final class Plan {
+        private final Map<String, Integer> assignments = new HashMap<>();
+        private final long[] predictedMillis;
+
+        private Plan(int shards) {
+            this.predictedMillis = new long[shards];
+        }
+
+        public boolean includes(String key, int shard) {
+            Integer assigned = assignments.get(key);
+            return assigned == null || assigned == shard;
+        }
+
+        public long predictedMillis(int shard) {
+            return predictedMillis[shard];
+        }
+
+        public long[] predictedMillis() {
+            return predictedMillis.clone();
+        }
+    }
+}
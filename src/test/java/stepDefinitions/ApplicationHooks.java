@@ -4,30 +4,25 @@ import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-
-import javax.imageio.ImageIO;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriverException;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
-import com.aventstack.extentreports.reporter.ExtentSparkReporter;
-
 import DriverFactory.WebDriverFactory;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
-import ru.yandex.qatools.ashot.AShot;
-import ru.yandex.qatools.ashot.Screenshot;
-import ru.yandex.qatools.ashot.shooting.ShootingStrategies;
+import sharding.ShardPlanner;
+import utilities.CachingElementLocatorFactory;
 import utilities.ConfigReader;
-import utilities.ExtentReader;
+import utilities.ExtentManager;
+import utilities.HardWaitMonitor;
 import utilities.Log;
+import utilities.PagePerformance;
+import utilities.ScreenshotPipeline;
 
 
 /**
@@ -38,87 +33,85 @@ public class ApplicationHooks extends WebDriverFactory {
 
     private static final Logger log = LogManager.getLogger(ApplicationHooks.class);
 
-    public static ExtentTest test;
-    public static ExtentReports extent = new ExtentReports();
-    public static ExtentSparkReporter spark;
-    public static Scenario scenario;
-    public static String scenarioName;
+    private static final AtomicBoolean housekeepingDone = new AtomicBoolean();
 
     private WebDriverFactory driverFactory;
     private ConfigReader configReader;
 
     private static final String SCREENSHOTS_DIR = "." + File.separator + "Screenshots";
-    private static final String EXTENT_REPORTS_DIR = "." + File.separator + "ExtentReports-Verbose";
 
     @Before(order = 0)
     public void initialization(Scenario scenario) {
-        Log.startTestCase(scenario.getName());
-        ApplicationHooks.scenario = scenario;
-
-        String dateStamp = formatDate("MM-dd-yyyy");
-        spark = new ExtentSparkReporter(
-                EXTENT_REPORTS_DIR + File.separator + "AutomationReport-" + dateStamp + File.separator + "Automation-Report.html");
+        Log.startTestCase(scenario.getName(), scenarioLocation(scenario));
 
         configReader = new ConfigReader();
         configReader.init_Prop();
         driverFactory = new WebDriverFactory();
 
-        extent.attachReporter(spark);
-        test = extent.createTest(scenario.getName());
+        ScenarioContext.start(scenario, ExtentManager.startTest(scenario.getName()));
 
-        try {
-            ExtentReader.updateExtentPropertiesValue("basefolder.name", "Reports/reports-" + dateStamp + "/reports");
-        } catch (RuntimeException e) {
-            log.warn("Could not update extent properties: {}", e.getMessage());
+        if (housekeepingDone.compareAndSet(false, true)) {
+            deleteFiles("Reports");
+            deleteFiles("Screenshots");
         }
-
-        deleteFiles("Reports");
-        deleteFiles("Screenshots");
-        scenarioName = scenario.getSourceTagNames().toString().trim();
         log.info("Initialization complete for scenario: {}", scenario.getName());
     }
 
+    /**
+     * Classpath-relative feature path plus line, e.g. features/TransactionScreen.feature:27.
+     */
+    private static String scenarioLocation(Scenario scenario) {
+        return ShardPlanner.key(scenario.getUri().getSchemeSpecificPart(), scenario.getLine());
+    }
+
     @Before("@Browser")
-    public void launchBrowser() throws IOException {
+    public void launchBrowser(Scenario scenario) throws IOException {
         log.info("Launching browser for scenario: {}", scenario.getName());
         driverFactory.init_driver(configReader.getBrowserConfiguration());
     }
 
-    @After(order = 0)
-    public void setExtent() {
-        extent.flush();
-        Log.endTestCase(scenario.getName());
+    @After(value = "@Browser", order = 0)
+    public void releaseBrowser(Scenario scenario) {
+        log.info("Releasing browser for scenario: {} (failed: {})", scenario.getName(), scenario.isFailed());
+        releaseDriver(scenario.isFailed());
     }
 
-    @After(order = 2)
-    public void tearDown(Scenario scenario) {
-        if (scenario.isFailed() && getDriver() != null) {
-            try {
-                String screenshotName = scenario.getName().replaceAll(" ", "_");
-                byte[] sourcePath = ((TakesScreenshot) getDriver()).getScreenshotAs(OutputType.BYTES);
-                scenario.attach(sourcePath, "image/png", screenshotName);
-                log.debug("Attached inline screenshot for failed scenario: {}", screenshotName);
-            } catch (WebDriverException e) {
-                log.error("Failed to capture inline screenshot: {}", e.getMessage());
+    @After(order = 0)
+    public void setExtent(Scenario scenario) {
+        String hardWaits = HardWaitMonitor.report(scenario.getName());
+        if (hardWaits != null && ScenarioContext.getTest() != null) {
+            ScenarioContext.getTest().warning(hardWaits);
+        }
+        String pagePerformance = PagePerformance.report(scenario.getName());
+        if (pagePerformance != null) {
+            scenario.attach(pagePerformance, "application/json", "Page performance");
+            if (ScenarioContext.getTest() != null) {
+                ScenarioContext.getTest().info("Page performance: " + pagePerformance);
             }
         }
+        String elementCache = CachingElementLocatorFactory.report(scenario.getName());
+        if (elementCache != null && ScenarioContext.getTest() != null) {
+            ScenarioContext.getTest().info(elementCache);
+        }
+        ExtentManager.endTest(scenario.getName());
+        ScenarioContext.clear();
     }
 
+    /**
+     * Captures a single full-page screenshot of a failed scenario and attaches it to the report.
+     * Writing the file and its thumbnail is handed to the background screenshot pipeline.
+     */
     @After(order = 1)
-    public void saveScreenshot(Scenario scenario) {
+    public void tearDown(Scenario scenario) {
         if (scenario.isFailed() && getDriver() != null) {
             try {
-                String dateStamp = formatDate("MM-dd-yyyy-HH-mm-ss");
                 String screenshotName = scenario.getName().replaceAll(" ", "_");
-                Screenshot screenshot = new AShot()
-                        .shootingStrategy(ShootingStrategies.viewportPasting(1000))
-                        .takeScreenshot(getDriver());
-
-                File screenshotFile = new File(SCREENSHOTS_DIR + File.separator + screenshotName + "-" + dateStamp + ".jpg");
-                ImageIO.write(screenshot.getImage(), "jpg", screenshotFile);
-                log.info("Screenshot saved: {}", screenshotFile.getAbsolutePath());
-            } catch (IOException e) {
-                log.error("Failed to save screenshot: {}", e.getMessage());
+                byte[] screenshot = ScreenshotPipeline.capture(getDriver());
+                scenario.attach(screenshot, "image/png", screenshotName);
+                ScreenshotPipeline.persist(screenshot, new File(SCREENSHOTS_DIR + File.separator + screenshotName + "-"
+                        + formatDate("MM-dd-yyyy-HH-mm-ss") + ".png"));
+            } catch (WebDriverException e) {
+                log.error("Failed to capture screenshot: {}", e.getMessage());
             }
         }
     }
@@ -157,14 +150,16 @@ public class ApplicationHooks extends WebDriverFactory {
      */
     @Before
     public void beforeScenario(Scenario scenario) {
-        Log.startTestCase(scenario.getName());
         Log.info("Starting API Scenario: {}", scenario.getName());
     }
 
-    @After
+    /**
+     * Runs after every other @After hook (they run highest order first) so teardown logging still reaches the
+     * scenario's own log file before the routing key is removed.
+     */
+    @After(order = Integer.MIN_VALUE)
     public void afterScenario(Scenario scenario) {
         Log.info("Completed API Scenario: {} - Result: {}", scenario.getName(), scenario.getStatus());
-//        ScenarioContext.clear();
         Log.endTestCase(scenario.getName());
     }
 }
\ No newline at end of file
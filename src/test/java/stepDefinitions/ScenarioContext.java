@@ -0,0 +1,35 @@
+package stepDefinitions;
+
+import io.cucumber.java.Scenario;
+import utilities.ScenarioReport;
+
+/**
+ * Holds the running scenario and its report node for the current worker thread.
+ * Cucumber runs each scenario on a single thread, so this stays isolated when scenarios run in parallel.
+ */
+public final class ScenarioContext {
+
+    private static final ThreadLocal<Scenario> tlScenario = new ThreadLocal<>();
+    private static final ThreadLocal<ScenarioReport> tlTest = new ThreadLocal<>();
+
+    private ScenarioContext() {
+    }
+
+    public static void start(Scenario scenario, ScenarioReport test) {
+        tlScenario.set(scenario);
+        tlTest.set(test);
+    }
+
+    public static Scenario getScenario() {
+        return tlScenario.get();
+    }
+
+    public static ScenarioReport getTest() {
+        return tlTest.get();
+    }
+
+    public static void clear() {
+        tlScenario.remove();
+        tlTest.remove();
+    }
+}
@@ -14,7 +14,7 @@ import io.cucumber.junit.CucumberOptions;
         features = {"@testData/rerun.txt"},
         glue = {"stepDefinitions"},
         tags = "@Branch",
-        plugin = {"pretty", "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:"},
+        plugin = {"pretty", "plugins.BrowserWarmupPlugin", "plugins.StepTimingPlugin", "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:"},
         monochrome = true
 )
 public class FailedRunnerUI {
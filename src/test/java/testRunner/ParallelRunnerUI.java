@@ -0,0 +1,27 @@
+package testRunner;
+
+import org.junit.platform.suite.api.ConfigurationParameter;
+import org.junit.platform.suite.api.IncludeEngines;
+import org.junit.platform.suite.api.SelectClasspathResource;
+import org.junit.platform.suite.api.Suite;
+
+/**
+ * Scenario-parallel Cucumber runner on the JUnit Platform engine.
+ * Run with "mvn test -Pparallel"; the profile enables parallel execution and selects the fixed or dynamic strategy.
+ * Uses the same tag expression as {@link TestRunnerUI}, so both runners execute the same scenarios.
+ * Add "-Dshard.index=i -Dshard.count=k" to run only the i-th of k duration-balanced shards (see {@link sharding.ShardPlanner}).
+ */
+@Suite
+@IncludeEngines("cucumber")
+@SelectClasspathResource("features")
+@ConfigurationParameter(key = "cucumber.glue", value = "stepDefinitions")
+@ConfigurationParameter(key = "cucumber.filter.tags", value = "@Branch1")
+@ConfigurationParameter(key = "cucumber.plugin", value = "pretty, "
+        + "plugins.BrowserWarmupPlugin, "
+        + "sharding.ScenarioDurationPlugin, "
+        + "plugins.StepTimingPlugin, "
+        + "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:, "
+        + "rerun:testData/rerun.txt")
+@ConfigurationParameter(key = "cucumber.ansi-colors.disabled", value = "true")
+public class ParallelRunnerUI {
+}
@@ -15,6 +15,9 @@ import io.cucumber.junit.CucumberOptions;
         glue = {"stepDefinitions"},
         tags = "@Branch1",
         plugin = {"pretty",
+                "plugins.BrowserWarmupPlugin",
+                "sharding.ScenarioDurationPlugin",
+                "plugins.StepTimingPlugin",
                 "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:",
                 "rerun:testData/rerun.txt"},
         monochrome = true
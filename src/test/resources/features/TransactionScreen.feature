@@ -4,10 +4,7 @@ Feature: Global Search Functionality
   I want to be able to search and filter transactions in the Global Search transaction page
 
   Background:
-    Given User navigates to Url
-    When user enters email "superadmin"
-    And user enters password "Password@123"
-    And user clicks login button
+    Given User is logged in with email "superadmin" and password "Password@123"
     When User navigates to Global Search page
     Then Global Search page should load successfully
 
@@ -329,4 +326,12 @@ Feature: Global Search Functionality
     When User selects "Cards" tab
     And User selects Life Cycle Status "Completed"
     And User clicks Search
-    Then Transaction records should be displayed
\ No newline at end of file
+    Then Transaction records should be displayed
+
+  @Browser @Perf
+  Scenario: Global Search results render within the p95 budget
+    When User selects "Cards" tab
+    And User click on filter
+    And User enters valid Transaction Reference Number "TXN123456"
+    And User clicks Search 20 times
+    Then "global-search-results" should render within budget at p95